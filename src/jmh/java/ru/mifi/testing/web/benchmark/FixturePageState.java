@@ -0,0 +1,52 @@
+package ru.mifi.testing.web.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.web.config.WebTestConfig;
+import ru.mifi.testing.web.driver.WebDriverFactory;
+import ru.mifi.testing.web.offline.FixtureServer;
+
+/**
+ * Браузер с открытой синтетической страницей погоды Москвы (см. FixtureServer).
+ *
+ * <p>
+ * Страница отдаётся локальным {@link FixtureServer}, браузер запускается
+ * через {@link WebDriverFactory} (в профиле {@code jmh} — headless chrome),
+ * поэтому в замерах нет сети и сторонних скриптов живого сайта.
+ * Одна сессия обслуживает все итерации форка.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class FixturePageState {
+
+    /** Страница, на которой присутствуют все локаторы {@code WeatherMainPage} */
+    private static final String PAGE = "/ru/moscow";
+
+    WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void openPage() {
+
+        driver = WebDriverFactory.create();
+        driver.get(FixtureServer.start() + PAGE);
+
+        new AdaptiveWait(driver, WebTestConfig.getTimeout()).until(
+                ExpectedConditions.presenceOfElementLocated(By.tagName("footer")));
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+
+        if (driver != null) {
+            driver.quit();
+        }
+        FixtureServer.stop();
+    }
+}
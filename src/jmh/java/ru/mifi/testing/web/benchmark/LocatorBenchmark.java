@@ -0,0 +1,96 @@
+package ru.mifi.testing.web.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import ru.mifi.testing.web.pages.WeatherMainPage;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость поиска элементов по каждому локатору {@link WeatherMainPage}.
+ *
+ * <p>
+ * Параметр {@code locator} — имя поля page object; локатор берётся из самого
+ * page object, поэтому замер всегда соответствует текущему коду.
+ * Варианты с префиксом {@code css:} — CSS-эквиваленты XPath-локаторов
+ * для сравнения. Время включает round trip к драйверу: базовую стоимость
+ * пустой команды показывает {@link PageObjectBenchmark#roundTrip}.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=LocatorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    /** CSS-эквиваленты XPath-локаторов page object */
+    private static final Map<String, By> CSS_ALTERNATIVES = Map.of(
+            "css:searchInput",
+            By.cssSelector("input[type='search'][aria-label='Найти город или район']"),
+            "css:currentCityLabel",
+            By.cssSelector("span[class*='Suggest_placeholder']"),
+            "css:leftNavigationMenu",
+            By.cssSelector("nav")
+    );
+
+    @Param({
+            "searchInput",
+            "css:searchInput",
+            "currentCityLabel",
+            "css:currentCityLabel",
+            "precipitationMapMenuItem",
+            "leftNavigationMenu",
+            "css:leftNavigationMenu",
+            "headerNavigationMenu",
+            "currentCityPlaceholder",
+            "searchPlaceholderContainer",
+            "firstSuggestion",
+            "currentWeatherBlock",
+            "footer",
+            "footerSeoText",
+            "footerCopyright"
+    })
+    public String locator;
+
+    private By by;
+
+    @Setup
+    public void resolveLocator(FixturePageState page) throws ReflectiveOperationException {
+
+        by = CSS_ALTERNATIVES.get(locator);
+
+        if (by == null) {
+            Field field = WeatherMainPage.class.getDeclaredField(locator);
+            field.setAccessible(true);
+            by = (By) field.get(new WeatherMainPage(page.driver));
+        }
+    }
+
+    /**
+     * Поиск всех совпадений (как {@code findElements} в проверках наличия).
+     */
+    @Benchmark
+    public List<WebElement> findElements(FixturePageState page) {
+        return page.driver.findElements(by);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.mifi.testing.web.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.web.config.WebTestConfig;
+import ru.mifi.testing.web.pages.WeatherMainPage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Постоянные накладные расходы page object и явных ожиданий.
+ *
+ * <p>
+ * Все замеры выполняются на загруженной странице, поэтому ожидания
+ * завершаются на первой проверке условия: разница между
+ * {@link #waitForPresentElement} и {@link #findElement} — цена самого ожидания,
+ * между {@link #findElement} и {@link #roundTrip} — цена поиска элемента.
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=PageObjectBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    private static final By FOOTER = By.cssSelector("footer[class*='AppFooter_footer']");
+
+    /**
+     * Пустая команда драйвера: стоимость одного round trip.
+     */
+    @Benchmark
+    public Object roundTrip(FixturePageState page) {
+        return ((JavascriptExecutor) page.driver).executeScript("return 1;");
+    }
+
+    /**
+     * Создание page object (без обращений к драйверу).
+     */
+    @Benchmark
+    public WeatherMainPage constructPage(FixturePageState page) {
+        return new WeatherMainPage(page.driver);
+    }
+
+    /**
+     * Создание явного ожидания (без обращений к драйверу).
+     */
+    @Benchmark
+    public AdaptiveWait constructWait(FixturePageState page) {
+        return new AdaptiveWait(page.driver, WebTestConfig.getShortTimeout());
+    }
+
+    @Benchmark
+    public WebElement findElement(FixturePageState page) {
+        return page.driver.findElement(FOOTER);
+    }
+
+    /**
+     * Ожидание элемента, который уже есть на странице.
+     */
+    @Benchmark
+    public WebElement waitForPresentElement(FixturePageState page) {
+        return new AdaptiveWait(page.driver, WebTestConfig.getShortTimeout())
+                .until(ExpectedConditions.presenceOfElementLocated(FOOTER));
+    }
+
+    /**
+     * Проверка page object целиком: ожидание видимости и isDisplayed.
+     */
+    @Benchmark
+    public boolean isHeaderNavigationMenuDisplayed(FixturePageState page) {
+        return new WeatherMainPage(page.driver).isHeaderNavigationMenuDisplayed();
+    }
+
+    /**
+     * Проверка page object без ожидания: findElement и isDisplayed.
+     */
+    @Benchmark
+    public boolean isFooterDisplayed(FixturePageState page) {
+        return new WeatherMainPage(page.driver).isFooterDisplayed();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.mifi.testing.common.cache;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Обработчик ленивого элемента {@link SessionCache#element(WebDriver, By)}.
+ *
+ * <p>
+ * Обработчик создаётся на каждый вызов и привязан к драйверу вызывающего теста;
+ * найденный элемент хранится в общем для сессии {@link State}.
+ * Элемент ищется при первом обращении и переиспользуется, пока не сменилась
+ * страница сессии и пока к нему обращаются через тот же драйвер:
+ * элемент, найденный через декоратор другого теста, ищется заново,
+ * чтобы команды не уходили в чужой декоратор (и чужие метрики).
+ * Устаревший элемент ({@link StaleElementReferenceException})
+ * находится заново, и команда повторяется один раз.
+ * </p>
+ */
+final class LazyElement implements InvocationHandler {
+
+    private final WebDriver driver;
+    private final By by;
+    private final State state;
+
+    LazyElement(WebDriver driver, By by, State state) {
+        this.driver = driver;
+        this.by = by;
+        this.state = state;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        switch (method.getName()) {
+            case "getWrappedElement":
+                return resolve(false);
+            case "toString":
+                return "Lazy element " + by;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+
+        try {
+            return method.invoke(resolve(false), args);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                throw e.getCause();
+            }
+        }
+
+        try {
+            return method.invoke(resolve(true), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private WebElement resolve(boolean stale) {
+
+        synchronized (state) {
+
+            long current = state.sessionGeneration.get();
+
+            if (stale || state.element == null || state.generation != current || state.foundBy != driver) {
+                state.element = driver.findElement(by);
+                state.foundBy = driver;
+                state.generation = current;
+            }
+
+            return state.element;
+        }
+    }
+
+    /**
+     * Найденный элемент одного локатора в сессии
+     */
+    static final class State {
+
+        private final AtomicLong sessionGeneration;
+
+        private WebElement element;
+        private WebDriver foundBy;
+        private long generation;
+
+        State(AtomicLong sessionGeneration) {
+            this.sessionGeneration = sessionGeneration;
+        }
+    }
+}
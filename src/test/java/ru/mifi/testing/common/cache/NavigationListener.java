@@ -0,0 +1,57 @@
+package ru.mifi.testing.common.cache;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+
+/**
+ * Отмечает в {@link SessionCache} переходы на другую страницу,
+ * после которых найденные элементы сессии устаревают.
+ *
+ * <p>
+ * Переходы из самой страницы (клики по ссылкам, JS) не отслеживаются:
+ * такие элементы обнаруживаются как устаревшие при первом обращении.
+ * </p>
+ */
+public class NavigationListener implements WebDriverListener {
+
+    private final WebDriver driver;
+
+    /**
+     * @param driver драйвер, к которому подключается слушатель
+     */
+    public NavigationListener(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        SessionCache.navigated(this.driver);
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        SessionCache.navigated(driver);
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        SessionCache.navigated(driver);
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        SessionCache.navigated(driver);
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        SessionCache.navigated(driver);
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        SessionCache.navigated(driver);
+    }
+}
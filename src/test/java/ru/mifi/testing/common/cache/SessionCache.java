@@ -0,0 +1,141 @@
+package ru.mifi.testing.common.cache;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш данных, которые не меняются в пределах сессии драйвера.
+ *
+ * <p>
+ * Хранится по идентификатору сессии, поэтому переживает смену page objects
+ * и тестов, обслуживаемых одной сессией (пул браузеров, переиспользование
+ * Appium-сессии):
+ * <ul>
+ *     <li>размер окна — {@link #windowSize(WebDriver)}</li>
+ *     <li>найденные элементы — ленивые прокси {@link #element(WebDriver, By)}</li>
+ * </ul>
+ * Capabilities сессии клиент Selenium и так хранит локально,
+ * отдельного кэша для них не нужно.
+ * </p>
+ *
+ * <p>
+ * Элементы считаются устаревшими после перехода на другую страницу
+ * ({@link #navigated(WebDriver)}, вызывается {@link NavigationListener})
+ * или при {@code StaleElementReferenceException}: прокси находит элемент заново.
+ * После закрытия сессии её данные удаляются через {@link #forget(WebDriver)}.
+ * </p>
+ */
+public final class SessionCache {
+
+    private static final Map<Object, Entry> sessions = new ConcurrentHashMap<>();
+
+    private SessionCache() {
+    }
+
+    /**
+     * @return размер окна; запрашивается у драйвера один раз на сессию
+     */
+    public static Dimension windowSize(WebDriver driver) {
+
+        Entry entry = entry(driver);
+
+        Dimension size = entry.windowSize;
+        if (size == null) {
+            size = driver.manage().window().getSize();
+            entry.windowSize = size;
+        }
+
+        return size;
+    }
+
+    /**
+     * Ленивый элемент: ищется при первом обращении и запоминается
+     * до перехода на другую страницу или до устаревания.
+     * Повторные вызовы с тем же локатором и тем же драйвером в той же сессии
+     * переиспользуют найденный элемент. Прокси создаётся на каждый вызов
+     * и выполняет команды через переданный драйвер, а не через драйвер
+     * первого вызова: сессию пула по очереди обслуживают разные декораторы тестов.
+     *
+     * <p>
+     * Если элемента нет, обращение к нему бросает {@code NoSuchElementException},
+     * как и {@code driver.findElement(by)}.
+     * </p>
+     */
+    public static WebElement element(WebDriver driver, By by) {
+
+        Entry entry = entry(driver);
+
+        LazyElement.State state = entry.elements.computeIfAbsent(
+                by, b -> new LazyElement.State(entry.generation));
+
+        return (WebElement) Proxy.newProxyInstance(
+                SessionCache.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class},
+                new LazyElement(driver, by, state)
+        );
+    }
+
+    /**
+     * Отмечает переход на другую страницу: найденные элементы сессии устаревают.
+     */
+    public static void navigated(WebDriver driver) {
+        Entry entry = sessions.get(keyOf(driver));
+        if (entry != null) {
+            entry.generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * Удаляет данные закрытой сессии.
+     */
+    public static void forget(WebDriver driver) {
+        sessions.remove(keyOf(driver));
+    }
+
+    /* ===================== Internals ===================== */
+
+    private static Entry entry(WebDriver driver) {
+        return sessions.computeIfAbsent(keyOf(driver), k -> new Entry());
+    }
+
+    /**
+     * Идентификатор сессии; обёрнутые драйверы (декораторы) разворачиваются.
+     * Если сессию определить нельзя, ключом служит сам драйвер.
+     */
+    private static Object keyOf(WebDriver driver) {
+
+        WebDriver current = driver;
+        while (!(current instanceof RemoteWebDriver) && current instanceof WrapsDriver) {
+            current = ((WrapsDriver) current).getWrappedDriver();
+        }
+
+        if (current instanceof RemoteWebDriver && ((RemoteWebDriver) current).getSessionId() != null) {
+            return ((RemoteWebDriver) current).getSessionId();
+        }
+
+        return driver;
+    }
+
+    /**
+     * Данные одной сессии
+     */
+    private static final class Entry {
+
+        /** Номер страницы: увеличивается при каждом переходе */
+        final AtomicLong generation = new AtomicLong();
+
+        final Map<By, LazyElement.State> elements = new ConcurrentHashMap<>();
+
+        volatile Dimension windowSize;
+    }
+}
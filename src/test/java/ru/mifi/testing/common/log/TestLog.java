@@ -0,0 +1,251 @@
+package ru.mifi.testing.common.log;
+
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронный журнал шагов тестов.
+ *
+ * <p>
+ * Заменяет {@code System.out.println}: вызывающий поток только форматирует
+ * строку и кладёт её в свой буфер, а в консоль строки пишет отдельный
+ * фоновый поток. Тестовые потоки не блокируют друг друга на синхронизированном
+ * {@code System.out}, а строки параллельных тестов не перемешиваются.
+ * </p>
+ *
+ * <p>
+ * Каждая строка содержит время, уровень и контекст:
+ * <pre>
+ * 12:03:15.482 [STEP] [SearchTest.shouldFindArticle | TestNG-classes-2 | emulator-5556] Open search screen
+ * </pre>
+ * Контекст (имя теста и браузер/устройство) задают базовые классы тестов
+ * через {@link #startTest(String, String)}.
+ * </p>
+ *
+ * <p>
+ * По умолчанию строки теста буферизуются в потоке и выводятся одним блоком
+ * по окончании теста (или каждые {@value #MAX_BUFFERED_LINES} строк).
+ * С {@code -Dlog.grouped=false} каждая строка передаётся писателю сразу.
+ * При завершении JVM (в том числе по таймауту форка surefire) выводятся
+ * буферы всех потоков, поэтому строки зависшего теста не теряются.
+ * </p>
+ */
+public final class TestLog {
+
+    /** Максимум строк в буфере потока до передачи писателю */
+    private static final int MAX_BUFFERED_LINES = 32;
+
+    private static final boolean GROUPED =
+            Boolean.parseBoolean(System.getProperty("log.grouped", "true"));
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    /** Поток, в который пишет фоновый писатель */
+    private static final PrintStream OUT = System.out;
+
+    /** Блоки строк, ожидающие вывода */
+    private static final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+
+    /** Контекст текущего потока: [имя теста, браузер или устройство] */
+    private static final ThreadLocal<String[]> context = new ThreadLocal<>();
+
+    /** Буферы всех потоков — для вывода при завершении JVM */
+    private static final Queue<List<String>> buffers = new ConcurrentLinkedQueue<>();
+
+    /** Строки текущего теста, ещё не переданные писателю */
+    private static final ThreadLocal<List<String>> buffer = ThreadLocal.withInitial(() -> {
+        List<String> lines = new ArrayList<>();
+        buffers.add(lines);
+        return lines;
+    });
+
+    /** Число блоков, переданных писателю, но ещё не выведенных */
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    static {
+        Thread writer = new Thread(TestLog::writeLoop, "test-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(TestLog::flushAll, "test-log-flush"));
+    }
+
+    private TestLog() {
+    }
+
+    /* ===================== Context ===================== */
+
+    /**
+     * Привязывает журнал текущего потока к тесту.
+     *
+     * @param testName имя теста (Класс.метод)
+     * @param target   браузер или устройство теста
+     */
+    public static void startTest(String testName, String target) {
+        publish();
+        context.set(new String[]{testName, target});
+    }
+
+    /**
+     * Выводит накопленные строки теста и сбрасывает контекст потока.
+     */
+    public static void finishTest() {
+        publish();
+        context.remove();
+    }
+
+    /* ===================== Levels ===================== */
+
+    public static void info(String message) {
+        log("INFO", message);
+    }
+
+    public static void info(String format, Object... args) {
+        log("INFO", String.format(format, args));
+    }
+
+    public static void step(String message) {
+        log("STEP", message);
+    }
+
+    public static void check(String message) {
+        log("CHECK", message);
+    }
+
+    public static void warn(String message) {
+        log("WARN", message);
+    }
+
+    public static void pass(String message) {
+        log("PASS", message);
+    }
+
+    public static void test(String message) {
+        log("TEST", message);
+    }
+
+    /**
+     * Ожидает вывода всех переданных писателю строк.
+     * Строки, ещё лежащие в буферах других потоков, не выводятся.
+     */
+    public static void flush() {
+        publish();
+        awaitWriter();
+    }
+
+    /* ===================== Internals ===================== */
+
+    /**
+     * Выводит буферы всех потоков, включая потоки зависших тестов.
+     * Вызывается при завершении JVM.
+     */
+    private static void flushAll() {
+        for (List<String> lines : buffers) {
+            publish(lines);
+        }
+        awaitWriter();
+    }
+
+    /**
+     * Ожидает вывода всех переданных писателю блоков (не дольше 5 секунд).
+     */
+    private static void awaitWriter() {
+
+        synchronized (queue) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pending.get() > 0 && System.nanoTime() < deadline) {
+                try {
+                    queue.wait(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void log(String level, String message) {
+
+        String[] ctx = context.get();
+        String line = LocalTime.now().format(TIME)
+                + " [" + level + "] ["
+                + (ctx != null ? ctx[0] : "-") + " | "
+                + Thread.currentThread().getName() + " | "
+                + (ctx != null ? ctx[1] : "-") + "] "
+                + message;
+
+        List<String> lines = buffer.get();
+        int size;
+        synchronized (lines) {
+            lines.add(line);
+            size = lines.size();
+        }
+
+        if (!GROUPED || ctx == null || size >= MAX_BUFFERED_LINES) {
+            publish();
+        }
+    }
+
+    /**
+     * Передаёт буфер текущего потока писателю одним блоком.
+     */
+    private static void publish() {
+        publish(buffer.get());
+    }
+
+    /**
+     * Передаёт буфер писателю одним блоком.
+     * Буфер синхронизирован: его может выводить поток завершения JVM.
+     */
+    private static void publish(List<String> lines) {
+
+        String block;
+        synchronized (lines) {
+            if (lines.isEmpty()) {
+                return;
+            }
+            block = String.join(System.lineSeparator(), lines);
+            lines.clear();
+        }
+
+        pending.incrementAndGet();
+        queue.add(block);
+    }
+
+    private static void writeLoop() {
+
+        List<String> blocks = new ArrayList<>();
+
+        while (true) {
+            try {
+                blocks.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(blocks);
+
+            StringBuilder out = new StringBuilder();
+            for (String block : blocks) {
+                out.append(block).append(System.lineSeparator());
+            }
+            OUT.print(out);
+            OUT.flush();
+
+            if (pending.addAndGet(-blocks.size()) == 0) {
+                synchronized (queue) {
+                    queue.notifyAll();
+                }
+            }
+            blocks.clear();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.mifi.testing.common.metrics;
+
+import org.openqa.selenium.json.Json;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Задержки команд драйвера по тестам и командам.
+ *
+ * <p>
+ * Команды измеряются:
+ * <ul>
+ *     <li>в web — слушателем {@link CommandTimingListener} (имя команды — метод интерфейса
+ *     Selenium, например {@code WebElement.click})</li>
+ *     <li>в mobile — исполнителем команд Appium-сессии (имя команды протокола,
+ *     например {@code findElement}, {@code clickElement}, {@code actions})</li>
+ * </ul>
+ * Измерения привязываются к тесту текущего потока ({@link #startTest(String)}).
+ * </p>
+ *
+ * <p>
+ * В конце прогона гистограммы по каждому тесту и команде, а также итог
+ * по командам сохраняются в {@code target/command-latency.json}.
+ * </p>
+ */
+public final class CommandMetrics {
+
+    private static final Path REPORT_FILE = Path.of("target", "command-latency.json");
+
+    /** Тест, к которому относятся команды вне тестовых методов */
+    private static final String NO_TEST = "(setup)";
+
+    /** Сколько самых дорогих команд выводить в консоль */
+    private static final int TOP = 10;
+
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+
+    /** тест → команда → гистограмма */
+    private static final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Привязывает последующие команды текущего потока к тесту.
+     */
+    public static void startTest(String testName) {
+        currentTest.set(testName);
+    }
+
+    /**
+     * Отвязывает тест от текущего потока.
+     */
+    public static void finishTest() {
+        currentTest.remove();
+    }
+
+    /**
+     * Записывает длительность одной команды.
+     */
+    public static void record(String command, long nanos) {
+
+        String test = currentTest.get();
+
+        histograms
+                .computeIfAbsent(test != null ? test : NO_TEST, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, c -> new LatencyHistogram())
+                .add(nanos);
+    }
+
+    /**
+     * Выводит самые дорогие команды и сохраняет все гистограммы в JSON.
+     */
+    public static synchronized void report() {
+
+        if (histograms.isEmpty()) {
+            return;
+        }
+
+        Map<String, LatencyHistogram> totals = new TreeMap<>();
+        Map<String, Object> tests = new TreeMap<>();
+
+        histograms.forEach((test, commands) -> {
+            Map<String, Object> perCommand = new TreeMap<>();
+            commands.forEach((command, histogram) -> {
+                perCommand.put(command, histogram.toMap());
+                totals.computeIfAbsent(command, c -> new LatencyHistogram()).merge(histogram);
+            });
+            tests.put(test, perCommand);
+        });
+
+        List<Map.Entry<String, LatencyHistogram>> sorted = new ArrayList<>(totals.entrySet());
+        sorted.sort(Comparator.comparingLong(
+                (Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalNanos()).reversed());
+
+        TestLog.info("Driver commands (top " + Math.min(TOP, sorted.size())
+                + " by total time):");
+        for (Map.Entry<String, LatencyHistogram> entry : sorted.subList(0, Math.min(TOP, sorted.size()))) {
+            Map<String, Object> stats = entry.getValue().toMap();
+            TestLog.info("  %7d ms total, %5d calls, p50 %s ms, p90 %s ms — %s",
+                    stats.get("totalMs"), stats.get("count"),
+                    stats.get("p50Ms"), stats.get("p90Ms"), entry.getKey());
+        }
+
+        Map<String, Object> commandTotals = new LinkedHashMap<>();
+        sorted.forEach(entry -> commandTotals.put(entry.getKey(), entry.getValue().toMap()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", commandTotals);
+        report.put("tests", tests);
+
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, new Json().toJson(report), StandardCharsets.UTF_8);
+            TestLog.info("Command latency report saved: " + REPORT_FILE);
+        } catch (IOException e) {
+            TestLog.warn("Failed to save command latency report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.mifi.testing.common.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Слушатель Selenium, измеряющий длительность каждой команды драйвера.
+ *
+ * <p>
+ * Покрывает вызовы драйвера, элементов, навигации, опций и т.д.
+ * Имя команды — интерфейс и метод: {@code WebDriver.get},
+ * {@code WebElement.click}, {@code JavascriptExecutor.executeScript}.
+ * Результаты пишутся в {@link CommandMetrics}.
+ * </p>
+ */
+public final class CommandTimingListener implements WebDriverListener {
+
+    /** Моменты начала незавершённых вызовов текущего потока */
+    private static final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Оборачивает драйвер измеряющим декоратором.
+     *
+     * @param others слушатели, подключаемые к тому же декоратору
+     */
+    public static WebDriver instrument(WebDriver driver, WebDriverListener... others) {
+
+        WebDriverListener[] listeners = new WebDriverListener[others.length + 1];
+        listeners[0] = new CommandTimingListener();
+        System.arraycopy(others, 0, listeners, 1, others.length);
+
+        return new EventFiringDecorator<>(listeners).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private static void finish(Method method) {
+
+        Long start = starts.get().poll();
+
+        if (start != null) {
+            CommandMetrics.record(
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                    System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.mifi.testing.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Гистограмма задержек команд драйвера.
+ *
+ * <p>
+ * Значения раскладываются по фиксированным корзинам (в миллисекундах):
+ * 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000 и "больше".
+ * Перцентили оцениваются по верхней границе корзины, чего достаточно,
+ * чтобы увидеть, какие команды и какие тесты съедают время прогона.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /** Верхние границы корзин, мс */
+    private static final long[] BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000
+    };
+
+    private final long[] buckets = new long[BOUNDS_MILLIS.length + 1];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Добавляет одно измерение.
+     */
+    public synchronized void add(long nanos) {
+
+        long millis = nanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis >= BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+
+        buckets[bucket]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Добавляет все измерения другой гистограммы.
+     */
+    public synchronized void merge(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Представление для JSON-отчёта.
+     */
+    public synchronized Map<String, Object> toMap() {
+
+        Map<String, Object> bucketMap = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            bucketMap.put(i < BOUNDS_MILLIS.length ? "<" + BOUNDS_MILLIS[i] : ">=10000", buckets[i]);
+        }
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("totalMs", totalNanos / 1_000_000);
+        map.put("avgMs", count == 0 ? 0 : totalNanos / 1_000_000 / count);
+        map.put("maxMs", maxNanos / 1_000_000);
+        map.put("p50Ms", percentile(0.50));
+        map.put("p90Ms", percentile(0.90));
+        map.put("p99Ms", percentile(0.99));
+        map.put("buckets", bucketMap);
+        return map;
+    }
+
+    /**
+     * Оценка перцентиля по верхней границе корзины.
+     */
+    private long percentile(double quantile) {
+
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank && buckets[i] > 0) {
+                return i < BOUNDS_MILLIS.length ? BOUNDS_MILLIS[i] : maxNanos / 1_000_000;
+            }
+        }
+
+        return 0;
+    }
+}
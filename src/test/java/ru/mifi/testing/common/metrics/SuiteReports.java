@@ -0,0 +1,38 @@
+package ru.mifi.testing.common.metrics;
+
+import org.testng.ISuite;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.wait.WaitStatistics;
+
+/**
+ * Итоговые отчёты сюиты: статистика ожиданий и задержки команд драйвера.
+ *
+ * <p>
+ * Вызывается из {@code @AfterSuite} базовых классов web- и mobile-тестов.
+ * Если обе линии выполняются в одной сюите (testng-lanes.xml),
+ * отчёты формируются один раз.
+ * </p>
+ */
+public final class SuiteReports {
+
+    /** Сюита, для которой отчёты уже сформированы */
+    private static ISuite publishedFor;
+
+    private SuiteReports() {
+    }
+
+    /**
+     * Выводит и сохраняет отчёты сюиты, если это ещё не сделано.
+     */
+    public static synchronized void publish(ISuite suite) {
+
+        if (suite == publishedFor) {
+            return;
+        }
+        publishedFor = suite;
+
+        WaitStatistics.report();
+        CommandMetrics.report();
+        TestLog.flush();
+    }
+}
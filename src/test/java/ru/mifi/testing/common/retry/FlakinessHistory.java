@@ -0,0 +1,175 @@
+package ru.mifi.testing.common.retry;
+
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Статистика нестабильности тестов за все прогоны.
+ *
+ * <p>
+ * Хранится в {@code .test-history/flakiness.properties}
+ * (путь можно переопределить через {@code -Dtest.flakiness.file}):
+ * <pre>
+ * CitySearchViaFormTest.shouldOpenSaintPetersburgWeatherViaSearch=12,3,1,4
+ * </pre>
+ * Значения: запуски, прошедшие только после повтора, упавшие окончательно, повторы.
+ * </p>
+ */
+public final class FlakinessHistory {
+
+    private static final Path FILE = Path.of(
+            System.getProperty("test.flakiness.file", ".test-history/flakiness.properties"));
+
+    private static final Map<String, Stats> history = new ConcurrentHashMap<>();
+
+    /** Повторы текущего прогона по тестам */
+    private static final Map<String, Integer> retriesThisRun = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    private FlakinessHistory() {
+    }
+
+    /**
+     * Упавшая попытка теста, за которой следует повтор.
+     */
+    public static void recordRetry(String testName) {
+        retriesThisRun.merge(testName, 1, Integer::sum);
+        Stats stats = stats(testName);
+        synchronized (stats) {
+            stats.retries++;
+        }
+    }
+
+    /**
+     * Тест прошёл (возможно, после повторов).
+     */
+    public static void recordPassed(String testName) {
+        Stats stats = stats(testName);
+        synchronized (stats) {
+            stats.runs++;
+            if (retriesThisRun.containsKey(testName)) {
+                stats.flaky++;
+            }
+        }
+    }
+
+    /**
+     * Тест упал после всех повторов.
+     */
+    public static void recordFailed(String testName) {
+        Stats stats = stats(testName);
+        synchronized (stats) {
+            stats.runs++;
+            stats.failed++;
+        }
+    }
+
+    /**
+     * Выводит тесты, понадобившие повтор в этом прогоне,
+     * и их нестабильность за все прогоны.
+     */
+    public static synchronized void report() {
+
+        if (retriesThisRun.isEmpty()) {
+            return;
+        }
+
+        List<String> tests = new ArrayList<>(retriesThisRun.keySet());
+        tests.sort(Comparator.comparingInt((String test) -> retriesThisRun.get(test)).reversed());
+
+        TestLog.info("Retried tests:");
+        for (String test : tests) {
+            Stats stats = stats(test);
+            TestLog.info("  %d retr%s, flaky in %d of %d run(s), failed in %d — %s",
+                    retriesThisRun.get(test), retriesThisRun.get(test) == 1 ? "y" : "ies",
+                    stats.flaky, stats.runs, stats.failed, test);
+        }
+    }
+
+    /**
+     * Сохраняет статистику в файл.
+     */
+    public static synchronized void save() {
+
+        StringBuilder content = new StringBuilder("# Test flakiness: runs,flaky,failed,retries\n");
+        new TreeMap<>(history).forEach((test, stats) ->
+                content.append(test).append('=').append(stats).append('\n'));
+
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.writeString(FILE, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestLog.warn("Failed to save test flakiness: " + e.getMessage());
+        }
+    }
+
+    private static Stats stats(String testName) {
+        return history.computeIfAbsent(testName, t -> new Stats());
+    }
+
+    private static void load() {
+
+        if (!Files.exists(FILE)) {
+            return;
+        }
+
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(FILE, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            TestLog.warn("Failed to read test flakiness: " + e.getMessage());
+            return;
+        }
+
+        for (String test : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(test).trim().split(",");
+            if (values.length != 4) {
+                continue;
+            }
+            try {
+                Stats stats = new Stats();
+                stats.runs = Integer.parseInt(values[0].trim());
+                stats.flaky = Integer.parseInt(values[1].trim());
+                stats.failed = Integer.parseInt(values[2].trim());
+                stats.retries = Integer.parseInt(values[3].trim());
+                history.put(test, stats);
+            } catch (NumberFormatException ignored) {
+                // повреждённая запись просто не учитывается
+            }
+        }
+    }
+
+    /**
+     * Счётчики одного теста.
+     */
+    private static final class Stats {
+
+        int runs;
+        int flaky;
+        int failed;
+        int retries;
+
+        @Override
+        public String toString() {
+            return runs + "," + flaky + "," + failed + "," + retries;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.mifi.testing.common.retry;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Повторный запуск упавшего теста.
+ *
+ * <p>
+ * Повторяется только упавший метод, а не вся сюита. Число повторов ограничено:
+ * <ul>
+ *     <li>{@code -Dretry.max} — повторов на один тест (по умолчанию 1)</li>
+ *     <li>{@code -Dretry.budget} — повторов на весь прогон (по умолчанию 5)</li>
+ * </ul>
+ * Общий бюджет не даёт повторам растянуть прогон, если сломано окружение
+ * и падают все тесты подряд. {@code -Dretry.max=0} отключает повторы.
+ * </p>
+ *
+ * <p>
+ * Повтор выполняется в том же потоке сразу после падения: {@code @AfterMethod}
+ * возвращает сессию в пул, и повтор получает её же, уже запущенной
+ * (браузер из {@code WebDriverPool}, Appium-сессию при {@code mobile.session.reuse}
+ * {@code class} или {@code suite}).
+ * </p>
+ *
+ * <p>
+ * Подключается ко всем тестам через {@link RetryListener}.
+ * </p>
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final int MAX_PER_TEST = Integer.getInteger("retry.max", 1);
+
+    /** Оставшиеся повторы на весь прогон */
+    private static final AtomicInteger budget = new AtomicInteger(Integer.getInteger("retry.budget", 5));
+
+    /** Повторы этого теста */
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+
+        if (attempts >= MAX_PER_TEST) {
+            return false;
+        }
+
+        if (budget.getAndUpdate(left -> Math.max(0, left - 1)) == 0) {
+            TestLog.warn("Retry budget exhausted, not retrying " + RetryListener.testName(result));
+            return false;
+        }
+
+        attempts++;
+
+        Throwable cause = result.getThrowable();
+        TestLog.warn("Retrying %s (%d of %d) after: %s", RetryListener.testName(result),
+                attempts, MAX_PER_TEST, cause != null ? cause.getMessage() : "failure");
+        return true;
+    }
+}
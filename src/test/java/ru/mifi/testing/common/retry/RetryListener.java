@@ -0,0 +1,84 @@
+package ru.mifi.testing.common.retry;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Подключает {@link RetryAnalyzer} ко всем тестам и ведёт статистику
+ * нестабильности ({@link FlakinessHistory}).
+ *
+ * <p>
+ * Регистрируется через {@code META-INF/services/org.testng.ITestNGListener},
+ * поэтому действует и в сюитах testng-*.xml, и при запуске через {@code -Dtest}.
+ * Тесты с собственным {@code retryAnalyzer} и тесты группы {@value #BENCHMARK_GROUP}
+ * (повтор исказил бы замеры) не затрагиваются.
+ * </p>
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    /** Группа замеров, которые не повторяются */
+    private static final String BENCHMARK_GROUP = "benchmark";
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass,
+                          Constructor testConstructor, Method testMethod) {
+
+        if (!hasOwnRetryAnalyzer(annotation)
+                && !Arrays.asList(annotation.getGroups()).contains(BENCHMARK_GROUP)) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    /**
+     * Собственный анализатор задаётся атрибутом {@code retryAnalyzer};
+     * без него TestNG подставляет значение по умолчанию — сам интерфейс
+     * {@link IRetryAnalyzer} или свою заглушку из пакета {@code org.testng}.
+     */
+    private static boolean hasOwnRetryAnalyzer(ITestAnnotation annotation) {
+
+        Class<? extends IRetryAnalyzer> analyzer = annotation.getRetryAnalyzerClass();
+
+        return analyzer != null
+                && analyzer != IRetryAnalyzer.class
+                && !analyzer.getName().startsWith("org.testng.");
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        FlakinessHistory.recordPassed(testName(result));
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        FlakinessHistory.recordFailed(testName(result));
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+
+        // упавшая попытка, за которой последует повтор, помечается как пропущенная
+        if (result.wasRetried()) {
+            FlakinessHistory.recordRetry(testName(result));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FlakinessHistory.report();
+        FlakinessHistory.save();
+    }
+
+    static String testName(ITestResult result) {
+        return result.getMethod().getRealClass().getSimpleName()
+                + "." + result.getMethod().getMethodName();
+    }
+}
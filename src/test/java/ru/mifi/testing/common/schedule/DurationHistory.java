@@ -0,0 +1,110 @@
+package ru.mifi.testing.common.schedule;
+
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Длительности тестов из предыдущих прогонов.
+ *
+ * <p>
+ * Хранятся в {@code .test-history/durations.properties}
+ * (путь можно переопределить через {@code -Dtest.history.file}):
+ * <pre>
+ * ScrollArticleTest.shouldScrollArticle=41250
+ * WeatherPageUiElementsTest.shouldDisplayMainUiElementsOnWeatherPage=6120
+ * </pre>
+ * Значение — сглаженная длительность в миллисекундах: новое измерение
+ * учитывается с весом 1/2, чтобы единичный медленный прогон
+ * не переворачивал порядок тестов.
+ * </p>
+ */
+public final class DurationHistory {
+
+    private static final Path FILE = Path.of(
+            System.getProperty("test.history.file", ".test-history/durations.properties"));
+
+    /** Вес нового измерения при сглаживании */
+    private static final double ALPHA = 0.5;
+
+    private static final Map<String, Long> durations = new ConcurrentHashMap<>();
+
+    static {
+        load();
+    }
+
+    private DurationHistory() {
+    }
+
+    /**
+     * @param testName имя теста (Класс.метод)
+     * @return сохранённая длительность в миллисекундах
+     */
+    public static OptionalLong get(String testName) {
+        Long millis = durations.get(testName);
+        return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+    }
+
+    /**
+     * Учитывает длительность очередного прогона теста.
+     */
+    public static void record(String testName, long millis) {
+        durations.merge(testName, millis,
+                (previous, current) -> Math.round(previous * (1 - ALPHA) + current * ALPHA));
+    }
+
+    /**
+     * Сохраняет историю в файл.
+     */
+    public static synchronized void save() {
+
+        StringBuilder content = new StringBuilder("# Test durations, ms\n");
+        new TreeMap<>(durations).forEach((test, millis) ->
+                content.append(test).append('=').append(millis).append('\n'));
+
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.writeString(FILE, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TestLog.warn("Failed to save test durations: " + e.getMessage());
+        }
+    }
+
+    private static void load() {
+
+        if (!Files.exists(FILE)) {
+            TestLog.info("Test duration history not found, tests run in declared order");
+            return;
+        }
+
+        Properties properties = new Properties();
+
+        try (Reader reader = Files.newBufferedReader(FILE, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            TestLog.warn("Failed to read test durations: " + e.getMessage());
+            return;
+        }
+
+        for (String test : properties.stringPropertyNames()) {
+            try {
+                durations.put(test, Long.parseLong(properties.getProperty(test).trim()));
+            } catch (NumberFormatException ignored) {
+                // повреждённая запись просто не учитывается
+            }
+        }
+
+        TestLog.info("Test duration history loaded: " + durations.size() + " test(s) from " + FILE);
+    }
+}
@@ -0,0 +1,242 @@
+package ru.mifi.testing.common.schedule;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite.ParallelMode;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Планировщик "самые долгие — первыми".
+ *
+ * <p>
+ * По истории длительностей ({@link DurationHistory}) упорядочивает тесты так,
+ * чтобы потоки TestNG сначала брали самые долгие из них. Свободный поток
+ * получает следующий тест из списка, поэтому такой порядок равен жадному
+ * распределению LPT: короткие тесты заполняют хвост, и в конце прогона
+ * не остаётся одного медленного mobile-теста на фоне простаивающих потоков.
+ * </p>
+ *
+ * <p>
+ * При {@code parallel="classes"} тест-класс целиком выполняется в одном потоке,
+ * поэтому упорядочиваются классы по суммарной длительности их методов;
+ * порядок методов внутри класса не меняется.
+ * Тесты без истории считаются средними по длительности.
+ * </p>
+ *
+ * <p>
+ * Длительность теста измеряется от начала первого {@code @BeforeMethod}
+ * до конца последнего {@code @AfterMethod}: в mobile-тестах основное время
+ * занимает создание сессии в {@code @BeforeMethod}, а время самого метода
+ * ({@link ITestResult#getStartMillis()}) его не включает.
+ * По окончании сюиты длительности прошедших и упавших тестов
+ * записываются в историю, и она сохраняется в файл.
+ * Подключается в {@code <listeners>} testng-*.xml.
+ * </p>
+ */
+public class LongestFirstScheduler
+        implements IMethodInterceptor, IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    /** Длительность по умолчанию, если истории нет ни для одного теста, мс */
+    private static final long DEFAULT_MILLIS = 10_000;
+
+    /** Замер теста, выполняемого в текущем потоке */
+    private static final ThreadLocal<Timing> current = new ThreadLocal<>();
+
+    /** Все замеры сюиты; записываются в историю по её окончании */
+    private static final Queue<Timing> timings = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+
+        long fallback = averageKnown(methods);
+        boolean byClass = isClassLevelParallel(context);
+
+        // Группы, которые поток выполняет целиком: метод или весь класс
+        Map<String, List<IMethodInstance>> units = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            String unit = byClass
+                    ? method.getMethod().getRealClass().getName()
+                    : testName(method.getMethod()) + "#" + System.identityHashCode(method);
+            units.computeIfAbsent(unit, u -> new ArrayList<>()).add(method);
+        }
+
+        Map<List<IMethodInstance>, Long> estimates = new LinkedHashMap<>();
+        for (List<IMethodInstance> unit : units.values()) {
+            long total = 0;
+            for (IMethodInstance method : unit) {
+                total += DurationHistory.get(testName(method.getMethod())).orElse(fallback);
+            }
+            estimates.put(unit, total);
+        }
+
+        List<List<IMethodInstance>> ordered = new ArrayList<>(estimates.keySet());
+        ordered.sort(Comparator.comparingLong((List<IMethodInstance> unit) -> estimates.get(unit)).reversed());
+
+        List<IMethodInstance> result = new ArrayList<>();
+        ordered.forEach(result::addAll);
+
+        report(context, ordered, estimates, byClass);
+        return result;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+
+        ITestNGMethod testMethod = method.getTestMethod();
+        if (!method.isTestMethod() && !testMethod.isBeforeMethodConfiguration()) {
+            return;
+        }
+
+        // первый @BeforeMethod или сам тест начинают замер следующего теста
+        Timing timing = current.get();
+        if (timing == null || timing.testName != null) {
+            timing = new Timing(System.currentTimeMillis());
+            current.set(timing);
+            timings.add(timing);
+        }
+
+        if (method.isTestMethod()) {
+            timing.testName = testName(testMethod);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+
+        // упавший @BeforeMethod: тест будет пропущен, его замер не продолжается,
+        // иначе следующий тест потока унаследовал бы время неудачной подготовки
+        if (method.getTestMethod().isBeforeMethodConfiguration() && !result.isSuccess()) {
+            current.remove();
+            return;
+        }
+
+        Timing timing = current.get();
+        if (timing != null && (method.isTestMethod() || method.getTestMethod().isAfterMethodConfiguration())) {
+            timing.endMillis = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        markCompleted();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        markCompleted();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+
+        Timing timing;
+        while ((timing = timings.poll()) != null) {
+            if (timing.completed && timing.testName != null) {
+                DurationHistory.record(timing.testName, timing.endMillis - timing.startMillis);
+            }
+        }
+
+        DurationHistory.save();
+    }
+
+    /* ===================== Internals ===================== */
+
+    /**
+     * Отмечает, что тест текущего потока прошёл или упал
+     * (пропущенные попытки в историю не попадают).
+     */
+    private static void markCompleted() {
+        Timing timing = current.get();
+        if (timing != null) {
+            timing.completed = true;
+        }
+    }
+
+    private static boolean isClassLevelParallel(ITestContext context) {
+        ParallelMode mode = context.getCurrentXmlTest().getParallel();
+        return mode == ParallelMode.CLASSES || mode == ParallelMode.INSTANCES;
+    }
+
+    private static long averageKnown(List<IMethodInstance> methods) {
+
+        long sum = 0;
+        int known = 0;
+
+        for (IMethodInstance method : methods) {
+            OptionalLong millis = DurationHistory.get(testName(method.getMethod()));
+            if (millis.isPresent()) {
+                sum += millis.getAsLong();
+                known++;
+            }
+        }
+
+        return known == 0 ? DEFAULT_MILLIS : sum / known;
+    }
+
+    /**
+     * Выводит порядок запуска и оценку времени прогона
+     * при жадном распределении по потокам.
+     */
+    private static void report(ITestContext context, List<List<IMethodInstance>> ordered,
+                               Map<List<IMethodInstance>, Long> estimates, boolean byClass) {
+
+        int workers = Math.max(1, context.getCurrentXmlTest().getThreadCount());
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            loads.add(0L);
+        }
+
+        TestLog.info("Longest-first order for '" + context.getName() + "':");
+        for (List<IMethodInstance> unit : ordered) {
+            long estimate = estimates.get(unit);
+            loads.add(loads.poll() + estimate);
+
+            ITestNGMethod first = unit.get(0).getMethod();
+            TestLog.info("  %6.1f s  %s", estimate / 1000.0,
+                    byClass ? first.getRealClass().getSimpleName() : testName(first));
+        }
+
+        long makespan = loads.stream().mapToLong(Long::longValue).max().orElse(0);
+        TestLog.info("Estimated makespan: %.1f s on %d worker(s)", makespan / 1000.0, workers);
+    }
+
+    private static String testName(ITestNGMethod method) {
+        return method.getRealClass().getSimpleName() + "." + method.getMethodName();
+    }
+
+    /**
+     * Замер одного теста вместе с его @BeforeMethod и @AfterMethod.
+     * Изменяется только потоком, выполняющим тест.
+     */
+    private static final class Timing {
+
+        final long startMillis;
+
+        volatile String testName;
+        volatile long endMillis;
+        volatile boolean completed;
+
+        Timing(long startMillis) {
+            this.startMillis = startMillis;
+            this.endMillis = startMillis;
+        }
+    }
+}
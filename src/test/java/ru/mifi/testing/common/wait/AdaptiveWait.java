@@ -0,0 +1,171 @@
+package ru.mifi.testing.common.wait;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Явное ожидание с адаптивным интервалом опроса.
+ *
+ * <p>
+ * Стандартный {@link WebDriverWait} опрашивает условие раз в 500 мс,
+ * поэтому даже элемент, появившийся через 20 мс, ждётся полсекунды.
+ * Здесь первая повторная проверка выполняется через 50 мс,
+ * далее интервал удваивается до 500 мс:
+ * 50 → 100 → 200 → 400 → 500 → 500 ...
+ * Быстрые условия завершаются почти сразу, а долгие ожидания
+ * не нагружают драйвер частыми запросами.
+ * </p>
+ *
+ * <p>
+ * Длительность каждого ожидания записывается в {@link WaitStatistics}
+ * под меткой условия (для ExpectedConditions это описание локатора).
+ * </p>
+ *
+ * <p>
+ * Таймаут ограничивается остатком бюджета теста ({@link TestDeadline})
+ * в момент начала каждого ожидания, а пауза между проверками — остатком
+ * этого таймаута: ожидание не засыпает на полный интервал после того,
+ * как бюджет теста исчерпан.
+ * </p>
+ *
+ * <p>
+ * После неудачных проверок может выполняться действие
+ * {@link #onRetry(Runnable, int)} — например, закрытие всплывающих окон,
+ * которые мешают дождаться элемента. Действие выполняется не после каждой
+ * неудачной проверки, а после каждой N-й, чтобы не удваивать число запросов.
+ * </p>
+ *
+ * <p>
+ * Экземпляр не потокобезопасен: он используется одним тестом
+ * (см. регистры драйверов текущего потока).
+ * </p>
+ */
+public class AdaptiveWait extends WebDriverWait {
+
+    /** Интервал перед первой повторной проверкой */
+    public static final Duration INITIAL_POLLING = Duration.ofMillis(50);
+
+    /** Максимальный интервал опроса */
+    public static final Duration MAX_POLLING = Duration.ofMillis(500);
+
+    private final Backoff backoff;
+
+    /** Собственный таймаут ожидания, без учёта бюджета теста */
+    private final Duration timeout;
+
+    /**
+     * @param driver  драйвер сессии
+     * @param timeout таймаут ожидания (из конфигурации тестов)
+     */
+    public AdaptiveWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, new Backoff());
+    }
+
+    private AdaptiveWait(WebDriver driver, Duration timeout, Backoff backoff) {
+        super(driver, timeout, INITIAL_POLLING, Clock.systemDefaultZone(), backoff);
+        this.backoff = backoff;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Задаёт действие, выполняемое после каждой {@code everyPolls}-й неудачной
+     * проверки условия (перед следующей проверкой).
+     * Исключения действия не прерывают ожидание.
+     *
+     * @param action     действие
+     * @param everyPolls через сколько неудачных проверок выполнять действие (не меньше 1)
+     * @return это же ожидание
+     */
+    public AdaptiveWait onRetry(Runnable action, int everyPolls) {
+        backoff.onRetry = action;
+        backoff.retryEvery = Math.max(1, everyPolls);
+        return this;
+    }
+
+    /**
+     * Ожидание условия; метка для статистики берётся из описания условия.
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        return until(labelOf(isTrue), isTrue);
+    }
+
+    /**
+     * Ожидание условия с явной меткой для статистики.
+     *
+     * @param label   имя ожидания (например, локатор или шаг)
+     * @param isTrue  условие
+     */
+    public <V> V until(String label, Function<? super WebDriver, V> isTrue) {
+
+        Duration allowed = TestDeadline.clamp(timeout);
+        withTimeout(allowed);
+
+        long start = System.nanoTime();
+        backoff.reset(start + allowed.toNanos());
+        boolean timedOut = false;
+
+        try {
+            return super.until(isTrue);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            if (allowed.compareTo(timeout) < 0) {
+                throw new TimeoutException("Test time budget of "
+                        + TestDeadline.getBudget().toSeconds() + " s exhausted while waiting for "
+                        + label, e);
+            }
+            throw e;
+        } finally {
+            WaitStatistics.record(label, System.nanoTime() - start, backoff.polls, timedOut);
+        }
+    }
+
+    private static String labelOf(Function<?, ?> condition) {
+        String description = condition.toString();
+        return description.contains("$$Lambda") ? "custom condition" : description;
+    }
+
+    /**
+     * Пауза между проверками с экспоненциальным ростом интервала.
+     * Интервал, переданный FluentWait, игнорируется; пауза не длится
+     * дольше остатка таймаута ожидания (и, значит, бюджета теста).
+     */
+    private static final class Backoff implements Sleeper {
+
+        private long nextMillis;
+        private int polls;
+        private Runnable onRetry;
+        private int retryEvery = 1;
+
+        /** Момент окончания текущего ожидания, System.nanoTime() */
+        private long endNanos;
+
+        void reset(long endNanos) {
+            this.nextMillis = INITIAL_POLLING.toMillis();
+            this.polls = 0;
+            this.endNanos = endNanos;
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            polls++;
+            long remainingMillis = Math.max(0, (endNanos - System.nanoTime()) / 1_000_000);
+            Thread.sleep(Math.min(nextMillis, remainingMillis));
+            nextMillis = Math.min(nextMillis * 2, MAX_POLLING.toMillis());
+
+            if (onRetry != null && polls % retryEvery == 0) {
+                try {
+                    onRetry.run();
+                } catch (RuntimeException e) {
+                    // действие вспомогательное и не должно прерывать ожидание
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.mifi.testing.common.wait;
+
+import java.time.Duration;
+
+/**
+ * Общий бюджет времени теста.
+ *
+ * <p>
+ * Базовые классы тестов открывают бюджет после подготовки сессии
+ * ({@link #start(Duration)}) и закрывают его после теста ({@link #clear()}).
+ * Каждое ожидание {@link AdaptiveWait} ждёт не дольше остатка бюджета:
+ * тест со сломанной страницей не проходит таймауты всех ожиданий подряд,
+ * а после исчерпания бюджета каждое ожидание делает одну проверку и падает.
+ * </p>
+ *
+ * <p>
+ * Бюджет хранится для потока теста; в потоках без бюджета
+ * (подготовка устройств, бенчмарки) таймауты ожиданий не меняются.
+ * </p>
+ */
+public final class TestDeadline {
+
+    private static final ThreadLocal<Long> deadlines = new ThreadLocal<>();
+    private static final ThreadLocal<Duration> budgets = new ThreadLocal<>();
+
+    private TestDeadline() {
+    }
+
+    /**
+     * Открывает бюджет теста текущего потока.
+     *
+     * @param budget бюджет; нулевой или отрицательный — без ограничения
+     */
+    public static void start(Duration budget) {
+
+        if (budget.isZero() || budget.isNegative()) {
+            clear();
+            return;
+        }
+
+        deadlines.set(System.nanoTime() + budget.toNanos());
+        budgets.set(budget);
+    }
+
+    /**
+     * Закрывает бюджет теста текущего потока.
+     */
+    public static void clear() {
+        deadlines.remove();
+        budgets.remove();
+    }
+
+    /**
+     * Ограничивает таймаут остатком бюджета.
+     *
+     * @param timeout собственный таймаут ожидания
+     * @return меньшее из таймаута и остатка бюджета (не меньше нуля)
+     */
+    public static Duration clamp(Duration timeout) {
+
+        Long deadline = deadlines.get();
+        if (deadline == null) {
+            return timeout;
+        }
+
+        Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * @return бюджет теста текущего потока или null, если он не задан
+     */
+    public static Duration getBudget() {
+        return budgets.get();
+    }
+}
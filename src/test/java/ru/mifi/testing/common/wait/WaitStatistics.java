@@ -0,0 +1,122 @@
+package ru.mifi.testing.common.wait;
+
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Статистика явных ожиданий по меткам (локаторам).
+ *
+ * <p>
+ * Для каждой метки накапливается число ожиданий, число таймаутов,
+ * суммарное и максимальное время ожидания и число повторных проверок.
+ * В конце прогона сводка выводится в консоль и сохраняется
+ * в {@code target/wait-statistics.csv}.
+ * </p>
+ */
+public final class WaitStatistics {
+
+    private static final Path REPORT_FILE = Path.of("target", "wait-statistics.csv");
+
+    /** Сколько самых дорогих ожиданий выводить в консоль */
+    private static final int TOP = 10;
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private WaitStatistics() {
+    }
+
+    /**
+     * Записывает результат одного ожидания.
+     *
+     * @param label    метка ожидания
+     * @param nanos    фактическая длительность
+     * @param polls    число повторных проверок
+     * @param timedOut ожидание завершилось таймаутом
+     */
+    public static void record(String label, long nanos, int polls, boolean timedOut) {
+        entries.computeIfAbsent(label, l -> new Entry()).add(nanos, polls, timedOut);
+    }
+
+    /**
+     * Выводит сводку и сохраняет её в CSV.
+     */
+    public static void report() {
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(entries.entrySet());
+        sorted.sort(Comparator.comparingLong(
+                (Map.Entry<String, Entry> e) -> e.getValue().totalNanos).reversed());
+
+        TestLog.info("Explicit waits (top " + Math.min(TOP, sorted.size())
+                + " by total time):");
+
+        StringBuilder csv = new StringBuilder("label,waits,timeouts,total_ms,avg_ms,max_ms,avg_polls\n");
+
+        for (int i = 0; i < sorted.size(); i++) {
+            String label = sorted.get(i).getKey();
+            Entry entry = sorted.get(i).getValue();
+
+            synchronized (entry) {
+                double totalMs = entry.totalNanos / 1e6;
+                double avgMs = totalMs / entry.count;
+                double maxMs = entry.maxNanos / 1e6;
+                double avgPolls = (double) entry.polls / entry.count;
+
+                if (i < TOP) {
+                    TestLog.info("  %6.0f ms total, %5.0f ms avg, %5.0f ms max, "
+                                    + "%d waits, %d timeouts — %s",
+                            totalMs, avgMs, maxMs, entry.count, entry.timeouts, label);
+                }
+
+                csv.append('"').append(label.replace("\"", "\"\"")).append('"')
+                        .append(',').append(entry.count)
+                        .append(',').append(entry.timeouts)
+                        .append(String.format(Locale.ROOT, ",%.1f,%.1f,%.1f,%.2f%n",
+                                totalMs, avgMs, maxMs, avgPolls));
+            }
+        }
+
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, csv.toString(), StandardCharsets.UTF_8);
+            TestLog.info("Wait statistics saved: " + REPORT_FILE);
+        } catch (IOException e) {
+            TestLog.warn("Failed to save wait statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Накопленные значения одной метки
+     */
+    private static final class Entry {
+
+        private int count;
+        private int timeouts;
+        private long polls;
+        private long totalNanos;
+        private long maxNanos;
+
+        synchronized void add(long nanos, int polls, boolean timedOut) {
+            count++;
+            this.polls += polls;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (timedOut) {
+                timeouts++;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.mifi.testing.lanes;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.driver.DevicePool;
+import ru.mifi.testing.web.config.WebTestConfig;
+
+import java.util.List;
+
+/**
+ * Распределяет потоки между web- и mobile-линиями общей сюиты.
+ *
+ * <p>
+ * Подключается в {@code testng-lanes.xml}: сюита запускается с
+ * {@code parallel="tests"}, каждая линия — отдельный {@code <test>}
+ * с собственным пулом потоков. Линия определяется параметром {@code lane}:
+ * <ul>
+ *     <li>{@code web} — браузерные слоты, {@code web.threads}</li>
+ *     <li>{@code mobile} — слоты устройств, по числу {@code mobile.devices}</li>
+ * </ul>
+ * Пулы не пересекаются, поэтому медленный эмулятор не занимает
+ * потоки браузеров и наоборот.
+ * </p>
+ */
+public class LaneThreadCountListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+
+                String lane = test.getParameter("lane");
+
+                if ("web".equals(lane)) {
+                    test.setThreadCount(WebTestConfig.getThreadCount());
+                } else if ("mobile".equals(lane)) {
+                    test.setThreadCount(DevicePool.size());
+                } else {
+                    continue;
+                }
+
+                TestLog.info("Lane '" + test.getName() + "': "
+                        + test.getThreadCount() + " " + lane + " slot(s)");
+            }
+
+            // каждой линии нужен свой поток верхнего уровня
+            suite.setThreadCount(Math.max(suite.getThreadCount(), suite.getTests().size()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.mifi.testing.mobile.base;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.TimeoutException;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+import ru.mifi.testing.mobile.driver.Device;
+import ru.mifi.testing.mobile.driver.MobileSessionManager;
+import ru.mifi.testing.mobile.pages.ArticlePage;
+import ru.mifi.testing.mobile.pages.MainPage;
+import ru.mifi.testing.mobile.pages.PopupWatcher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Подготовка состояния приложения Wikipedia на устройстве.
+ *
+ * <p>
+ * Один раз на устройство, до первого теста (при {@code mobile.state.seed=true}):
+ * <ul>
+ *     <li>приложение запускается с чистыми данными</li>
+ *     <li>онбординг пропускается</li>
+ *     <li>открывается статья ({@code mobile.state.seed.article}),
+ *     окна Wikipedia Games и Customize Toolbar закрываются</li>
+ * </ul>
+ * После этого устройство отмечается в {@link MobileSessionManager}: сессии открываются
+ * с {@code noReset=true}, приложение между тестами только перезапускается,
+ * а page objects не проверяют онбординг и всплывающие окна.
+ * </p>
+ */
+public final class AppStateSeeder {
+
+    /** Сколько ждать появления всплывающих окон после открытия статьи */
+    private static final Duration POPUP_SETTLE = Duration.ofSeconds(3);
+
+    /** Всплывающих окон первого запуска: Wikipedia Games и Customize Toolbar */
+    private static final int FIRST_RUN_POPUPS = 2;
+
+    private AppStateSeeder() {
+    }
+
+    /**
+     * Подготавливает приложение на устройстве, если это ещё не сделано.
+     * Устройство в этот момент занято потоком вызывающего, поэтому
+     * подготовка одного устройства не выполняется дважды.
+     */
+    public static void seedIfNeeded(Device device) {
+
+        if (!MobileTestConfig.isStateSeedEnabled() || MobileSessionManager.isSeeded(device)) {
+            return;
+        }
+
+        TestLog.info("Seeding app state on " + device.getUdid());
+        long start = System.nanoTime();
+
+        AndroidDriver driver = MobileSessionManager.acquire(device);
+        try {
+            AdaptiveWait wait = PopupWatcher.watch(
+                    new AdaptiveWait(driver, MobileTestConfig.getWaitTimeout()), driver);
+
+            MainPage mainPage = new MainPage(driver, wait);
+            mainPage.skipOnboardingIfPresent();
+            mainPage.isOpened();
+
+            new ArticlePage(driver, wait).openByDeepLink(MobileTestConfig.getStateSeedArticle());
+            dismissFirstRunPopups(driver);
+
+        } catch (RuntimeException e) {
+            TestLog.warn("App state seeding failed on " + device.getUdid()
+                    + ", tests will check onboarding and popups: " + e.getMessage());
+            return;
+
+        } finally {
+            MobileSessionManager.release(driver);
+        }
+
+        MobileSessionManager.markSeeded(device);
+        TestLog.info("App state seeded on %s in %.1f s",
+                device.getUdid(), (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void dismissFirstRunPopups(AndroidDriver driver) {
+
+        AtomicInteger dismissed = new AtomicInteger();
+
+        try {
+            new AdaptiveWait(driver, POPUP_SETTLE).until("first-run popups", d ->
+                    dismissed.addAndGet(PopupWatcher.dismissIfPresent(driver)) >= FIRST_RUN_POPUPS);
+        } catch (TimeoutException e) {
+            // окно могло не появиться в этой версии приложения
+        }
+
+        TestLog.info("First-run popups dismissed: " + dismissed.get());
+    }
+}
@@ -1,14 +1,27 @@
 package ru.mifi.testing.mobile.base;
 
 import io.appium.java_client.android.AndroidDriver;
-import io.appium.java_client.android.options.UiAutomator2Options;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.metrics.CommandMetrics;
+import ru.mifi.testing.common.metrics.SuiteReports;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.common.wait.TestDeadline;
 import ru.mifi.testing.mobile.config.MobileTestConfig;
+import ru.mifi.testing.mobile.driver.Device;
+import ru.mifi.testing.mobile.driver.DevicePool;
+import ru.mifi.testing.mobile.driver.MobileDriverRegistry;
+import ru.mifi.testing.mobile.driver.MobileSessionManager;
+import ru.mifi.testing.mobile.driver.MobileSessionManager.ReuseMode;
+import ru.mifi.testing.mobile.pages.PopupWatcher;
 
-import java.net.URL;
-import java.time.Duration;
+import java.lang.reflect.Method;
 
 /**
  * Базовый класс для всех мобильных автотестов.
@@ -16,10 +29,17 @@ import java.time.Duration;
  * <p>
  * Отвечает за:
  * <ul>
- *     <li>инициализацию AndroidDriver через Appium</li>
- *     <li>настройку UiAutomator2 capabilities</li>
- *     <li>создание WebDriverWait</li>
- *     <li>корректное завершение сессии после теста</li>
+ *     <li>выбор свободного устройства из {@link DevicePool} на время тест-класса</li>
+ *     <li>однократную подготовку состояния приложения на устройстве ({@link AppStateSeeder})</li>
+ *     <li>получение Appium-сессии через {@link MobileSessionManager}</li>
+ *     <li>создание явных ожиданий ({@link AdaptiveWait}) с закрытием всплывающих окон
+ *     ({@link PopupWatcher}) и вывод статистики ожиданий</li>
+ *     <li>привязку задержек команд Appium к тесту ({@link CommandMetrics})</li>
+ *     <li>общий бюджет времени теста ({@link TestDeadline})</li>
+ *     <li>контекст журнала {@link TestLog}: имя теста и устройство</li>
+ *     <li>регистрацию сессии в {@link MobileDriverRegistry} для текущего потока</li>
+ *     <li>освобождение сессии после теста, класса или всего прогона
+ *     в зависимости от режима {@code mobile.session.reuse}</li>
  * </ul>
  * </p>
  *
@@ -30,59 +50,98 @@ import java.time.Duration;
 public abstract class BaseMobileTest {
 
     /**
-     * AndroidDriver — основной объект взаимодействия с мобильным приложением
+     * Устройство, на котором выполняется текущий тест-класс
      */
-    protected AndroidDriver driver;
+    private Device device;
 
     /**
-     * Явные ожидания для мобильных элементов
+     * Выбор устройства для тест-класса.
+     * Если все устройства заняты, ожидает освобождения первого из них.
      */
-    protected WebDriverWait wait;
+    @BeforeClass(alwaysRun = true)
+    public void leaseDevice() {
+        device = DevicePool.lease();
+        AppStateSeeder.seedIfNeeded(device);
+    }
 
     /**
      * Инициализация Appium-сессии перед каждым тестом
      */
     @BeforeMethod
-    public void setUp() throws Exception {
+    public void setUp(Method method) {
 
-        System.out.println("[INFO] Starting mobile test setup");
+        String testName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        TestLog.startTest(testName, device.getUdid());
 
-        UiAutomator2Options options = new UiAutomator2Options()
-                .setPlatformName(MobileTestConfig.getPlatformName())
-                .setAutomationName(MobileTestConfig.getAutomationName())
-                .setDeviceName(MobileTestConfig.getDeviceName())
-                .setPlatformVersion(MobileTestConfig.getPlatformVersion())
-                .setAppPackage(MobileTestConfig.getAppPackage())
-                .setAppActivity(MobileTestConfig.getAppActivity())
-                .setNoReset(MobileTestConfig.isNoReset())
-                .setAutoGrantPermissions(MobileTestConfig.isAutoGrantPermissions())
-                .setNewCommandTimeout(Duration.ofSeconds(
-                        MobileTestConfig.getNewCommandTimeout()
-                ));
+        TestLog.info("Starting mobile test setup");
 
-        System.out.println("[INFO] Appium capabilities configured");
+        CommandMetrics.startTest(testName);
 
-        driver = new AndroidDriver(
-                new URL(MobileTestConfig.getAppiumServerUrl()),
-                options
-        );
+        AndroidDriver driver = MobileSessionManager.acquire(device);
+        AdaptiveWait wait = new AdaptiveWait(driver, MobileTestConfig.getWaitTimeout());
 
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        // в подготовленном приложении всплывающие окна уже закрыты
+        boolean seeded = MobileSessionManager.isSeeded(device);
+        MobileDriverRegistry.register(driver,
+                seeded ? wait : PopupWatcher.watch(wait, driver), seeded);
 
-        System.out.println("[INFO] Appium session started successfully");
+        TestDeadline.start(MobileTestConfig.getTestDeadline());
     }
 
     /**
-     * Завершение Appium-сессии после каждого теста
+     * Освобождение Appium-сессии после каждого теста
      */
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
 
-        System.out.println("[INFO] Tearing down mobile test");
+        TestLog.info("Tearing down mobile test");
+
+        TestDeadline.clear();
+
+        MobileSessionManager.release(MobileDriverRegistry.unregister());
+        CommandMetrics.finishTest();
+        TestLog.finishTest();
+    }
 
-        if (driver != null) {
-            driver.quit();
-            System.out.println("[INFO] Appium session closed");
+    /**
+     * Закрытие сессии по окончании тест-класса (режим {@code class})
+     * и возврат устройства в пул
+     */
+    @AfterClass(alwaysRun = true)
+    public void releaseDevice() {
+
+        if (device == null) {
+            return;
+        }
+
+        if (MobileSessionManager.getReuseMode() == ReuseMode.CLASS) {
+            MobileSessionManager.closeSession(device);
         }
+
+        DevicePool.release(device);
+        device = null;
+    }
+
+    /**
+     * Закрытие всех оставшихся сессий и вывод сэкономленного времени
+     */
+    @AfterSuite(alwaysRun = true)
+    public void closeAllSessions(ITestContext context) {
+        MobileSessionManager.closeAll();
+        SuiteReports.publish(context.getSuite());
+    }
+
+    /**
+     * @return AndroidDriver текущего теста
+     */
+    protected AndroidDriver getDriver() {
+        return MobileDriverRegistry.getDriver();
+    }
+
+    /**
+     * @return явные ожидания текущего теста
+     */
+    protected WebDriverWait getWait() {
+        return MobileDriverRegistry.getWait();
     }
 }
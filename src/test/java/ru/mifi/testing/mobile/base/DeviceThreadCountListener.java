@@ -0,0 +1,32 @@
+package ru.mifi.testing.mobile.base;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.driver.DevicePool;
+
+import java.util.List;
+
+/**
+ * Подстраивает число потоков mobile-сюиты под число устройств.
+ *
+ * <p>
+ * Подключается в {@code testng-mobile.xml}: каждый поток обслуживает
+ * одно устройство, поэтому thread-count берётся из {@code mobile.devices},
+ * а не задаётся в XML вручную.
+ * </p>
+ */
+public class DeviceThreadCountListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+
+        int devices = DevicePool.size();
+
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(devices);
+            TestLog.info("Suite '" + suite.getName()
+                    + "' runs on " + devices + " device(s) in parallel");
+        }
+    }
+}
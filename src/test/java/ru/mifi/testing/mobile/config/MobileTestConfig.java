@@ -1,6 +1,11 @@
 package ru.mifi.testing.mobile.config;
 
+import ru.mifi.testing.common.log.TestLog;
+
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -15,12 +20,18 @@ import java.util.Properties;
  * Используется базовыми тестами для:
  * <ul>
  *     <li>настройки Appium-сессии</li>
- *     <li>указания устройства / эмулятора</li>
+ *     <li>указания устройства / эмулятора или списка устройств</li>
  *     <li>параметров запуска приложения</li>
+ *     <li>режима переиспользования Appium-сессий</li>
  * </ul>
  * </p>
  *
  * <p>
+ * Любой параметр можно переопределить системным свойством
+ * с тем же именем (например, {@code -Dmobile.session.reuse=suite}).
+ * </p>
+ *
+ * <p>
  * Реализован как утилитарный класс со статическими методами,
  * что упрощает использование в тестах и базовых классах.
  * </p>
@@ -46,7 +57,7 @@ public class MobileTestConfig {
             }
 
             properties.load(is);
-            System.out.println("[INFO] Mobile test configuration loaded successfully");
+            TestLog.info("Mobile test configuration loaded successfully");
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to load mobile-test.properties", e);
@@ -57,49 +68,118 @@ public class MobileTestConfig {
      * @return URL Appium-сервера (например, http://127.0.0.1:4723)
      */
     public static String getAppiumServerUrl() {
-        return properties.getProperty("mobile.appium.server.url");
+        return get("mobile.appium.server.url", null);
     }
 
     /**
      * @return Название платформы (обычно ANDROID)
      */
     public static String getPlatformName() {
-        return properties.getProperty("mobile.platformName");
+        return get("mobile.platformName", null);
     }
 
     /**
      * @return Версия Android (например, 13.0)
      */
     public static String getPlatformVersion() {
-        return properties.getProperty("mobile.platformVersion");
+        return get("mobile.platformVersion", null);
     }
 
     /**
      * @return Имя устройства или эмулятора
      */
     public static String getDeviceName() {
-        return properties.getProperty("mobile.deviceName");
+        return get("mobile.deviceName", null);
+    }
+
+    /**
+     * Список устройств, между которыми распределяются тесты.
+     *
+     * <p>
+     * Задаётся через запятую в {@code mobile.devices}
+     * (например, {@code emulator-5554,emulator-5556}).
+     * Если список не задан, используется единственное устройство
+     * {@code mobile.deviceName}.
+     * </p>
+     *
+     * @return имена (udid) устройств
+     */
+    public static List<String> getDevices() {
+        String devices = get("mobile.devices", "");
+
+        if (devices.isBlank()) {
+            return List.of(getDeviceName());
+        }
+
+        return Arrays.stream(devices.split(","))
+                .map(String::trim)
+                .filter(device -> !device.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @return первый порт UiAutomator2-сервера на устройстве (systemPort);
+     * i-е устройство получает порт base + i
+     */
+    public static int getSystemPortBase() {
+        return Integer.parseInt(get("mobile.systemPort.base", "8200"));
+    }
+
+    /**
+     * @return первый порт Chromedriver для WebView-контекстов
+     */
+    public static int getChromedriverPortBase() {
+        return Integer.parseInt(get("mobile.chromedriverPort.base", "9515"));
+    }
+
+    /**
+     * @return первый порт MJPEG-сервера скриншотов
+     */
+    public static int getMjpegServerPortBase() {
+        return Integer.parseInt(get("mobile.mjpegServerPort.base", "7810"));
     }
 
     /**
      * @return Название automation framework (UiAutomator2)
      */
     public static String getAutomationName() {
-        return properties.getProperty("mobile.automationName");
+        return get("mobile.automationName", null);
     }
 
     /**
      * @return Package name тестируемого приложения
      */
     public static String getAppPackage() {
-        return properties.getProperty("mobile.appPackage");
+        return get("mobile.appPackage", null);
     }
 
     /**
      * @return Activity, с которой стартует приложение
      */
     public static String getAppActivity() {
-        return properties.getProperty("mobile.appActivity");
+        return get("mobile.appActivity", null);
+    }
+
+    /**
+     * @return true — если приложение на каждом устройстве один раз приводится
+     * к подготовленному состоянию (см. {@code AppStateSeeder})
+     */
+    public static boolean isStateSeedEnabled() {
+        return Boolean.parseBoolean(get("mobile.state.seed", "false"));
+    }
+
+    /**
+     * @return статья, которую открывает подготовка состояния приложения
+     */
+    public static String getStateSeedArticle() {
+        return get("mobile.state.seed.article", "Java");
+    }
+
+    /**
+     * @return адрес статей Wikipedia для deep link (к нему добавляется название статьи)
+     */
+    public static String getArticleBaseUrl() {
+        return get("mobile.article.baseUrl", "https://en.wikipedia.org/wiki/");
     }
 
     /**
@@ -107,7 +187,7 @@ public class MobileTestConfig {
      */
     public static boolean isNoReset() {
         return Boolean.parseBoolean(
-                properties.getProperty("mobile.noReset", "true")
+                get("mobile.noReset", "true")
         );
     }
 
@@ -116,7 +196,7 @@ public class MobileTestConfig {
      */
     public static boolean isAutoGrantPermissions() {
         return Boolean.parseBoolean(
-                properties.getProperty("mobile.autoGrantPermissions", "true")
+                get("mobile.autoGrantPermissions", "true")
         );
     }
 
@@ -125,7 +205,63 @@ public class MobileTestConfig {
      */
     public static int getNewCommandTimeout() {
         return Integer.parseInt(
-                properties.getProperty("mobile.newCommandTimeout", "180")
+                get("mobile.newCommandTimeout", "180")
         );
     }
+
+    /**
+     * Режим переиспользования Appium-сессии.
+     *
+     * <ul>
+     *     <li>{@code none} — новая сессия на каждый тест (исходное поведение)</li>
+     *     <li>{@code class} — одна сессия на устройство в пределах тест-класса</li>
+     *     <li>{@code suite} — одна сессия на устройство на весь прогон</li>
+     * </ul>
+     *
+     * @return значение режима из конфигурации
+     */
+    public static String getSessionReuseMode() {
+        return get("mobile.session.reuse", "none");
+    }
+
+    /**
+     * Способ сброса приложения между тестами при переиспользовании сессии.
+     *
+     * <ul>
+     *     <li>{@code restart} — terminate + activate, данные приложения сохраняются</li>
+     *     <li>{@code clear} — очистка данных приложения + activate (аналог noReset=false)</li>
+     * </ul>
+     *
+     * @return стратегия сброса; по умолчанию согласована с {@code mobile.noReset}
+     */
+    public static String getAppResetStrategy() {
+        return get("mobile.session.resetStrategy", isNoReset() ? "restart" : "clear");
+    }
+
+    /**
+     * Таймаут явных ожиданий элементов приложения.
+     *
+     * @return таймаут в формате Duration
+     */
+    public static Duration getWaitTimeout() {
+        return Duration.ofSeconds(Integer.parseInt(get("mobile.timeout.seconds", "15")));
+    }
+
+    /**
+     * Общий бюджет времени одного теста: ни одно ожидание
+     * не продлится дольше его остатка. 0 — без ограничения.
+     *
+     * @return бюджет теста в формате Duration
+     */
+    public static Duration getTestDeadline() {
+        return Duration.ofSeconds(Integer.parseInt(get("mobile.timeout.test.seconds", "120")));
+    }
+
+    /**
+     * Значение параметра с учётом переопределения
+     * через системные свойства JVM.
+     */
+    private static String get(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
 }
@@ -0,0 +1,49 @@
+package ru.mifi.testing.mobile.driver;
+
+/**
+ * Устройство (эмулятор), на котором выполняются мобильные тесты.
+ *
+ * <p>
+ * Каждое устройство получает собственные порты UiAutomator2,
+ * Chromedriver и MJPEG-сервера, чтобы параллельные сессии
+ * на одном Appium-сервере не конфликтовали.
+ * </p>
+ */
+public final class Device {
+
+    private final String udid;
+    private final int systemPort;
+    private final int chromedriverPort;
+    private final int mjpegServerPort;
+
+    public Device(String udid, int systemPort, int chromedriverPort, int mjpegServerPort) {
+        this.udid = udid;
+        this.systemPort = systemPort;
+        this.chromedriverPort = chromedriverPort;
+        this.mjpegServerPort = mjpegServerPort;
+    }
+
+    /**
+     * @return udid устройства (например, emulator-5554)
+     */
+    public String getUdid() {
+        return udid;
+    }
+
+    public int getSystemPort() {
+        return systemPort;
+    }
+
+    public int getChromedriverPort() {
+        return chromedriverPort;
+    }
+
+    public int getMjpegServerPort() {
+        return mjpegServerPort;
+    }
+
+    @Override
+    public String toString() {
+        return udid;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.mifi.testing.mobile.driver;
+
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Пул устройств для распределения мобильных тестов.
+ *
+ * <p>
+ * Тест-класс берёт устройство перед запуском и возвращает после
+ * завершения. Свободные устройства выдаются в порядке освобождения,
+ * поэтому следующий класс достаётся тому устройству,
+ * которое освободилось первым.
+ * </p>
+ *
+ * <p>
+ * Порты назначаются по индексу устройства в {@code mobile.devices}:
+ * {@code systemPort = mobile.systemPort.base + i} и аналогично
+ * для chromedriverPort и mjpegServerPort.
+ * </p>
+ */
+public final class DevicePool {
+
+    private static final List<Device> devices = createDevices();
+
+    private static final BlockingQueue<Device> free = new LinkedBlockingQueue<>(devices);
+
+    private DevicePool() {
+    }
+
+    /**
+     * @return число устройств в пуле
+     */
+    public static int size() {
+        return devices.size();
+    }
+
+    /**
+     * Выдаёт свободное устройство, ожидая его освобождения при необходимости.
+     */
+    public static Device lease() {
+        try {
+            Device device = free.take();
+            TestLog.info("Device leased: " + device);
+            return device;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free device", e);
+        }
+    }
+
+    /**
+     * Возвращает устройство в пул.
+     */
+    public static void release(Device device) {
+        if (device != null) {
+            free.offer(device);
+            TestLog.info("Device released: " + device);
+        }
+    }
+
+    private static List<Device> createDevices() {
+
+        List<String> udids = MobileTestConfig.getDevices();
+
+        return IntStream.range(0, udids.size())
+                .mapToObj(i -> new Device(
+                        udids.get(i),
+                        MobileTestConfig.getSystemPortBase() + i,
+                        MobileTestConfig.getChromedriverPortBase() + i,
+                        MobileTestConfig.getMjpegServerPortBase() + i
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.mifi.testing.mobile.driver;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Реестр Appium-сессий, привязанных к потоку теста.
+ *
+ * <p>
+ * Page objects мобильного приложения получают драйвер и ожидания
+ * из реестра текущего потока, а не из полей тест-класса.
+ * Это позволяет выполнять тесты параллельно — каждый поток
+ * работает со своей сессией.
+ * </p>
+ *
+ * <p>
+ * Вместе с сессией хранится признак подготовленного состояния приложения:
+ * page objects по нему пропускают проверки онбординга и всплывающих окон.
+ * </p>
+ */
+public final class MobileDriverRegistry {
+
+    private static final ThreadLocal<AndroidDriver> drivers = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> waits = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> seeded = new ThreadLocal<>();
+
+    private MobileDriverRegistry() {
+    }
+
+    /**
+     * Привязывает драйвер и ожидания к текущему потоку.
+     */
+    public static void register(AndroidDriver driver, WebDriverWait wait) {
+        register(driver, wait, false);
+    }
+
+    /**
+     * Привязывает драйвер и ожидания к текущему потоку.
+     *
+     * @param appStateSeeded приложение в подготовленном состоянии
+     *                       (онбординг пройден, всплывающие окна закрыты)
+     */
+    public static void register(AndroidDriver driver, WebDriverWait wait, boolean appStateSeeded) {
+        drivers.set(driver);
+        waits.set(wait);
+        seeded.set(appStateSeeded);
+    }
+
+    /**
+     * Отвязывает драйвер от текущего потока.
+     *
+     * @return ранее зарегистрированный драйвер или null
+     */
+    public static AndroidDriver unregister() {
+        AndroidDriver driver = drivers.get();
+        drivers.remove();
+        waits.remove();
+        seeded.remove();
+        return driver;
+    }
+
+    /**
+     * @return true — если приложение сессии текущего потока в подготовленном состоянии
+     */
+    public static boolean isAppStateSeeded() {
+        return Boolean.TRUE.equals(seeded.get());
+    }
+
+    /**
+     * @return драйвер текущего потока
+     * @throws IllegalStateException если драйвер не зарегистрирован
+     */
+    public static AndroidDriver getDriver() {
+        AndroidDriver driver = drivers.get();
+        if (driver == null) {
+            throw new IllegalStateException(
+                    "AndroidDriver is not registered for thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * @return ожидания текущего потока
+     * @throws IllegalStateException если драйвер не зарегистрирован
+     */
+    public static WebDriverWait getWait() {
+        WebDriverWait wait = waits.get();
+        if (wait == null) {
+            throw new IllegalStateException(
+                    "WebDriverWait is not registered for thread " + Thread.currentThread().getName());
+        }
+        return wait;
+    }
+}
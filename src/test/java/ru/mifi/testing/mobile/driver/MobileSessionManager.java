@@ -0,0 +1,252 @@
+package ru.mifi.testing.mobile.driver;
+
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import ru.mifi.testing.common.cache.SessionCache;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Управление жизненным циклом Appium-сессий.
+ *
+ * <p>
+ * Создание UiAutomator2-сессии на эмуляторе занимает несколько секунд,
+ * поэтому сессия может переиспользоваться между тестами
+ * (см. {@link MobileTestConfig#getSessionReuseMode()}).
+ * Вместо повторного согласования сессии приложение Wikipedia
+ * сбрасывается внутри уже открытой сессии:
+ * <ul>
+ *     <li>{@code restart} — terminateApp + activateApp</li>
+ *     <li>{@code clear} — {@code mobile: clearApp} + activateApp</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Сессии хранятся по udid устройства: одна сессия на устройство.
+ * Для каждого устройства в capabilities передаются собственные
+ * udid, systemPort, chromedriverPort и mjpegServerPort (см. {@link DevicePool}).
+ * </p>
+ *
+ * <p>
+ * Если приложение на устройстве приведено к подготовленному состоянию
+ * ({@link #markSeeded(Device)}), сессии открываются с {@code noReset=true},
+ * а между тестами приложение только перезапускается: очистка данных
+ * вернула бы онбординг и всплывающие окна.
+ * </p>
+ *
+ * <p>
+ * Команды сессии выполняются через {@link TimedCommandExecutor},
+ * который записывает длительность каждой команды.
+ * </p>
+ */
+public final class MobileSessionManager {
+
+    /**
+     * Режимы переиспользования сессии
+     */
+    public enum ReuseMode {
+        NONE, CLASS, SUITE;
+
+        static ReuseMode fromConfig() {
+            return valueOf(MobileTestConfig.getSessionReuseMode().trim().toUpperCase());
+        }
+    }
+
+    /** Открытые сессии по udid устройства */
+    private static final Map<String, AndroidDriver> sessions = new ConcurrentHashMap<>();
+
+    /** Устройства, на которых приложение в подготовленном состоянии */
+    private static final Set<String> seededDevices = ConcurrentHashMap.newKeySet();
+
+    /* ===================== Statistics ===================== */
+
+    private static final AtomicInteger created = new AtomicInteger();
+    private static final AtomicInteger reused = new AtomicInteger();
+    private static final AtomicLong creationNanos = new AtomicLong();
+    private static final AtomicLong resetNanos = new AtomicLong();
+
+    private MobileSessionManager() {
+    }
+
+    /**
+     * @return текущий режим переиспользования сессий
+     */
+    public static ReuseMode getReuseMode() {
+        return ReuseMode.fromConfig();
+    }
+
+    /**
+     * Выдаёт сессию для теста на указанном устройстве.
+     *
+     * <p>
+     * Если сессия для устройства уже открыта и отвечает, приложение
+     * сбрасывается внутри неё; иначе создаётся новая сессия.
+     * </p>
+     */
+    public static AndroidDriver acquire(Device device) {
+
+        String deviceName = device.getUdid();
+        AndroidDriver driver = sessions.get(deviceName);
+
+        if (driver != null) {
+            try {
+                long start = System.nanoTime();
+                resetApp(driver, isSeeded(device));
+                resetNanos.addAndGet(System.nanoTime() - start);
+                reused.incrementAndGet();
+
+                TestLog.info("Appium session reused on " + deviceName);
+                return driver;
+
+            } catch (Exception e) {
+                TestLog.warn("Appium session on " + deviceName
+                        + " is not usable, recreating: " + e.getMessage());
+                closeSession(deviceName);
+            }
+        }
+
+        long start = System.nanoTime();
+        driver = createSession(device);
+        creationNanos.addAndGet(System.nanoTime() - start);
+        created.incrementAndGet();
+
+        if (getReuseMode() != ReuseMode.NONE) {
+            sessions.put(deviceName, driver);
+        }
+
+        return driver;
+    }
+
+    /**
+     * Отмечает, что приложение на устройстве приведено к подготовленному состоянию.
+     * Последующие сессии устройства его сохраняют.
+     */
+    public static void markSeeded(Device device) {
+        seededDevices.add(device.getUdid());
+    }
+
+    /**
+     * @return true — если приложение на устройстве в подготовленном состоянии
+     */
+    public static boolean isSeeded(Device device) {
+        return seededDevices.contains(device.getUdid());
+    }
+
+    /**
+     * Освобождает сессию после теста.
+     * В режиме {@code none} сессия закрывается сразу.
+     */
+    public static void release(AndroidDriver driver) {
+
+        if (driver != null && getReuseMode() == ReuseMode.NONE) {
+            SessionCache.forget(driver);
+            driver.quit();
+            TestLog.info("Appium session closed");
+        }
+    }
+
+    /**
+     * Закрывает сессию устройства, если она открыта.
+     */
+    public static void closeSession(Device device) {
+        closeSession(device.getUdid());
+    }
+
+    private static void closeSession(String deviceName) {
+
+        AndroidDriver driver = sessions.remove(deviceName);
+
+        if (driver != null) {
+            SessionCache.forget(driver);
+            try {
+                driver.quit();
+                TestLog.info("Appium session closed on " + deviceName);
+            } catch (Exception e) {
+                TestLog.warn("Failed to close Appium session on "
+                        + deviceName + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Закрывает все открытые сессии и печатает сэкономленное время.
+     */
+    public static void closeAll() {
+
+        sessions.keySet().forEach(MobileSessionManager::closeSession);
+
+        if (created.get() == 0) {
+            return;
+        }
+
+        double avgCreation = creationNanos.get() / 1e9 / created.get();
+        double resetSeconds = resetNanos.get() / 1e9;
+
+        TestLog.info("Appium sessions: created=" + created.get()
+                + ", reused=" + reused.get()
+                + ", mode=" + getReuseMode().name().toLowerCase());
+        TestLog.info("Appium sessions: %.1f s avg startup, %.1f s spent on app resets, "
+                        + "~%.1f s saved",
+                avgCreation, resetSeconds, avgCreation * reused.get() - resetSeconds);
+    }
+
+    /* ===================== Internals ===================== */
+
+    private static AndroidDriver createSession(Device device) {
+
+        UiAutomator2Options options = new UiAutomator2Options()
+                .setPlatformName(MobileTestConfig.getPlatformName())
+                .setAutomationName(MobileTestConfig.getAutomationName())
+                .setDeviceName(device.getUdid())
+                .setUdid(device.getUdid())
+                .setSystemPort(device.getSystemPort())
+                .setChromedriverPort(device.getChromedriverPort())
+                .setMjpegServerPort(device.getMjpegServerPort())
+                .setPlatformVersion(MobileTestConfig.getPlatformVersion())
+                .setAppPackage(MobileTestConfig.getAppPackage())
+                .setAppActivity(MobileTestConfig.getAppActivity())
+                .setNoReset(MobileTestConfig.isNoReset() || isSeeded(device))
+                .setAutoGrantPermissions(MobileTestConfig.isAutoGrantPermissions())
+                .setNewCommandTimeout(Duration.ofSeconds(
+                        MobileTestConfig.getNewCommandTimeout()
+                ));
+
+        TestLog.info("Appium capabilities configured");
+
+        try {
+            AndroidDriver driver = new AndroidDriver(
+                    new TimedCommandExecutor(new URL(MobileTestConfig.getAppiumServerUrl())),
+                    options
+            );
+
+            TestLog.info("Appium session started successfully on " + device);
+            return driver;
+
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(
+                    "Invalid Appium server URL: " + MobileTestConfig.getAppiumServerUrl(), e);
+        }
+    }
+
+    private static void resetApp(AndroidDriver driver, boolean seeded) {
+
+        String appPackage = MobileTestConfig.getAppPackage();
+
+        if (!seeded && "clear".equalsIgnoreCase(MobileTestConfig.getAppResetStrategy())) {
+            driver.executeScript("mobile: clearApp", Map.of("appId", appPackage));
+        } else {
+            driver.terminateApp(appPackage);
+        }
+
+        driver.activateApp(appPackage);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.mifi.testing.mobile.driver;
+
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+import ru.mifi.testing.common.metrics.CommandMetrics;
+
+import java.net.URL;
+
+/**
+ * Исполнитель команд Appium, измеряющий длительность каждой команды.
+ *
+ * <p>
+ * Через исполнитель проходят все команды сессии, включая команды
+ * элементов ({@code clickElement}, {@code sendKeysToElement}),
+ * поэтому драйвер не нужно оборачивать прокси и он остаётся {@code AndroidDriver}.
+ * </p>
+ */
+final class TimedCommandExecutor extends AppiumCommandExecutor {
+
+    TimedCommandExecutor(URL appiumServerUrl) {
+        super(MobileCommand.commandRepository, appiumServerUrl);
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+
+        long start = System.nanoTime();
+
+        try {
+            return super.execute(command);
+        } finally {
+            CommandMetrics.record(command.getName(), System.nanoTime() - start);
+        }
+    }
+}
@@ -3,14 +3,25 @@ package ru.mifi.testing.mobile.pages;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Pause;
 import org.openqa.selenium.interactions.PointerInput;
 import org.openqa.selenium.interactions.Sequence;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import ru.mifi.testing.common.cache.SessionCache;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+import ru.mifi.testing.mobile.driver.MobileDriverRegistry;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Page Object экрана статьи мобильного приложения Wikipedia.
@@ -18,45 +29,192 @@ import java.util.List;
  * <p>
  * Отвечает за:
  * <ul>
+ *     <li>открытие статьи по ссылке (deep link) без поиска</li>
  *     <li>закрытие всплывающих окон</li>
- *     <li>проверку открытия статьи</li>
- *     <li>прокрутку содержимого статьи</li>
+ *     <li>проверку открытия статьи по якорям (одним запросом)</li>
+ *     <li>прокрутку содержимого статьи, в том числе до заданного элемента</li>
+ *     <li>определение смещения видимой области статьи</li>
  *     <li>проверку доступности статьи после скролла</li>
  * </ul>
  * </p>
  */
 public class ArticlePage {
 
+    // ===== ARTICLE ANCHORS =====
+
+    /**
+     * Якоря экрана статьи.
+     * Якоря с resource-id объединяются в одно условие {@code resourceIdMatches},
+     * якорь без resource-id добавляется отдельным UiSelector через {@code ;},
+     * поэтому несколько якорей проверяются одним UiAutomator-запросом.
+     */
+    public enum Anchor {
+
+        /** Заголовок статьи */
+        TITLE("org.wikipedia.alpha:id/view_page_title_text"),
+
+        /** Верхняя панель статьи */
+        TOOLBAR("org.wikipedia.alpha:id/view_page_header"),
+
+        /** Кнопка навигации "Назад" (без resource-id, ищется по content-desc) */
+        NAVIGATE_UP(null),
+
+        /** WebView с содержимым статьи */
+        WEB_VIEW("org.wikipedia.alpha:id/page_web_view");
+
+        private final String resourceId;
+
+        Anchor(String resourceId) {
+            this.resourceId = resourceId;
+        }
+
+        /**
+         * Селектор якоря без resource-id
+         */
+        private static final String NAVIGATE_UP_SELECTOR =
+                "new UiSelector().description(\"Navigate up\")";
+    }
+
+    /**
+     * Результат поиска якорей.
+     *
+     * <p>
+     * Наличие якоря известно сразу после запроса; какой именно якорь
+     * найден, определяется по требованию (один дополнительный запрос
+     * атрибута resource-id первого найденного элемента).
+     * </p>
+     */
+    public static final class AnchorMatch {
+
+        private final WebElement element;
+        private final Anchor[] candidates;
+        private Anchor anchor;
+
+        private AnchorMatch(WebElement element, Anchor[] candidates) {
+            this.element = element;
+            this.candidates = candidates;
+        }
+
+        /**
+         * @return true — если найден хотя бы один якорь
+         */
+        public boolean isFound() {
+            return element != null;
+        }
+
+        /**
+         * @return найденный якорь или null, если якорей на экране нет
+         */
+        public Anchor getAnchor() {
+
+            if (anchor == null && element != null) {
+                String resourceId = element.getAttribute("resource-id");
+                anchor = Anchor.NAVIGATE_UP;
+
+                for (Anchor candidate : candidates) {
+                    if (candidate.resourceId != null && candidate.resourceId.equals(resourceId)) {
+                        anchor = candidate;
+                        break;
+                    }
+                }
+            }
+
+            return anchor;
+        }
+    }
+
+    // ===== SCROLL TARGETS =====
+
+    /**
+     * Элемент статьи, до которого нужно прокрутить.
+     * Задаётся UiAutomator-селектором, поэтому поиск выполняется на стороне сервера.
+     */
+    public static final class ScrollTarget {
+
+        private final String selector;
+        private final String description;
+
+        private ScrollTarget(String selector, String description) {
+            this.selector = selector;
+            this.description = description;
+        }
+
+        /**
+         * @param text точный текст элемента
+         */
+        public static ScrollTarget text(String text) {
+            return new ScrollTarget("new UiSelector().text(" + quote(text) + ")", "text '" + text + "'");
+        }
+
+        /**
+         * @param text часть текста элемента
+         */
+        public static ScrollTarget textContains(String text) {
+            return new ScrollTarget("new UiSelector().textContains(" + quote(text) + ")",
+                    "text containing '" + text + "'");
+        }
+
+        /**
+         * @param resourceId полный resource-id, например {@code org.wikipedia.alpha:id/page_footer}
+         */
+        public static ScrollTarget resourceId(String resourceId) {
+            return new ScrollTarget("new UiSelector().resourceId(" + quote(resourceId) + ")",
+                    "resource-id " + resourceId);
+        }
+
+        /**
+         * Заголовок раздела статьи, например {@code History}.
+         * В WebView заголовок — текстовый узел с точным текстом раздела.
+         */
+        public static ScrollTarget section(String heading) {
+            return new ScrollTarget("new UiSelector().text(" + quote(heading) + ")",
+                    "section '" + heading + "'");
+        }
+
+        private static String quote(String value) {
+            return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
     private final AndroidDriver driver;
     private final WebDriverWait wait;
 
-    // ===== POPUPS =====
-
-    /** Кнопка закрытия всплывающего окна Wikipedia Games */
-    private final By gamesPopupCloseButton =
-            By.id("org.wikipedia.alpha:id/closeButton");
+    /**
+     * Видимые текстовые узлы внутри WebView статьи.
+     * UiAutomator-селектор не требует выгрузки XML-иерархии,
+     * а невидимые узлы UiAutomator2 по умолчанию не возвращает.
+     */
+    private final By visibleArticleNodes = AppiumBy.androidUIAutomator(
+            "new UiSelector().resourceId(\"org.wikipedia.alpha:id/page_web_view\")"
+                    + ".childSelector(new UiSelector().textMatches(\".+\"))"
+    );
 
-    /** Кнопка "Got it" в окне Customize Toolbar */
-    private final By customizeToolbarGotItButton =
-            By.id("org.wikipedia.alpha:id/positiveButton");
+    /** Сколько верхних видимых узлов входит в отпечаток экрана */
+    private static final int FINGERPRINT_NODES = 5;
 
-    // ===== ARTICLE ANCHORS =====
+    /** Предел жестов UiScrollable при поиске элемента */
+    private static final int MAX_SEARCH_SWIPES = 30;
 
-    /** Заголовок статьи */
-    private final By articleTitle =
-            By.id("org.wikipedia.alpha:id/view_page_title_text");
+    /** Жестов в одной W3C-последовательности при запасном способе прокрутки */
+    private static final int SWIPES_PER_BATCH = 5;
 
-    /** Верхняя панель статьи */
-    private final By articleToolbar =
-            By.id("org.wikipedia.alpha:id/view_page_header");
+    /** Предел пачек жестов при запасном способе прокрутки */
+    private static final int MAX_BATCHES = MAX_SEARCH_SWIPES / SWIPES_PER_BATCH;
 
-    /** Кнопка навигации "Назад" */
-    private final By navigateUpButton =
-            AppiumBy.accessibilityId("Navigate up");
+    /** Пауза между жестами одной пачки */
+    private static final Duration SWIPE_PAUSE = Duration.ofMillis(150);
 
-    /** WebView с содержимым статьи */
-    private final By articleWebView =
-            By.id("org.wikipedia.alpha:id/page_web_view");
+    /**
+     * Page object для сессии текущего потока теста.
+     */
+    public ArticlePage() {
+        this(MobileDriverRegistry.getDriver(), MobileDriverRegistry.getWait());
+    }
 
     /**
      * Конструктор страницы статьи.
@@ -67,32 +225,51 @@ public class ArticlePage {
         this.wait = wait;
     }
 
+    // ===== DEEP LINK =====
+
+    /**
+     * Открывает статью напрямую по ссылке, минуя главный экран и поиск.
+     *
+     * <p>
+     * Ссылка вида {@code https://en.wikipedia.org/wiki/Java} передаётся
+     * приложению интентом ({@code mobile: deepLink}) с явным указанием пакета,
+     * поэтому системный выбор приложения не появляется.
+     * Вместо цепочки "поиск → ввод запроса → ожидание результатов → открытие"
+     * выполняется одна команда и одно ожидание якоря статьи.
+     * Подходит для тестов, предмет которых — экран статьи, а не поиск.
+     * </p>
+     *
+     * @param title название статьи, например {@code Java}
+     */
+    public void openByDeepLink(String title) {
+
+        String url = MobileTestConfig.getArticleBaseUrl()
+                + URLEncoder.encode(title.replace(' ', '_'), StandardCharsets.UTF_8);
+
+        TestLog.info("Opening article via deep link: " + url);
+
+        driver.executeScript("mobile: deepLink", Map.of(
+                "url", url,
+                "package", MobileTestConfig.getAppPackage()
+        ));
+
+        wait.until(d -> findAnyAnchor(Anchor.TITLE, Anchor.TOOLBAR, Anchor.NAVIGATE_UP).isFound());
+    }
+
     // ===== POPUPS =====
 
     /**
      * Закрывает всплывающие окна, если они отображаются.
      * <p>
      * Метод безопасный — при отсутствии popup просто продолжается выполнение.
+     * Окна проверяются одним запросом без ожидания (см. {@link PopupWatcher});
+     * окна, появившиеся позже, закрываются во время явных ожиданий теста.
+     * Для приложения в подготовленном состоянии окна уже закрыты, проверка не выполняется.
      * </p>
      */
     public void closePopupsIfPresent() {
-
-        try {
-            new WebDriverWait(driver, Duration.ofSeconds(3))
-                    .until(ExpectedConditions.visibilityOfElementLocated(gamesPopupCloseButton))
-                    .click();
-            System.out.println("[INFO] Wikipedia Games popup closed");
-        } catch (Exception ignored) {
-            // popup может отсутствовать — это допустимо
-        }
-
-        try {
-            new WebDriverWait(driver, Duration.ofSeconds(3))
-                    .until(ExpectedConditions.visibilityOfElementLocated(customizeToolbarGotItButton))
-                    .click();
-            System.out.println("[INFO] Customize Toolbar popup closed");
-        } catch (Exception ignored) {
-            // popup может отсутствовать — это допустимо
+        if (!MobileDriverRegistry.isAppStateSeeded()) {
+            PopupWatcher.dismissIfPresent(driver);
         }
     }
 
@@ -112,22 +289,14 @@ public class ArticlePage {
 
         closePopupsIfPresent();
 
-        if (isElementPresent(articleTitle)) {
-            System.out.println("[INFO] Article opened: TITLE visible");
-            return true;
-        }
-
-        if (isElementPresent(articleToolbar)) {
-            System.out.println("[INFO] Article opened: TOOLBAR visible");
-            return true;
-        }
+        AnchorMatch match = findAnyAnchor(Anchor.TITLE, Anchor.TOOLBAR, Anchor.NAVIGATE_UP);
 
-        if (isElementPresent(navigateUpButton)) {
-            System.out.println("[INFO] Article opened: NAVIGATE UP button visible");
+        if (match.isFound()) {
+            TestLog.info("Article opened: " + match.getAnchor() + " visible");
             return true;
         }
 
-        System.out.println("[WARN] Article anchors not found");
+        TestLog.warn("Article anchors not found");
         return false;
     }
 
@@ -140,65 +309,200 @@ public class ArticlePage {
      */
     public boolean isArticleAvailable() {
 
-        if (isElementPresent(articleWebView)) {
-            System.out.println("[INFO] Article available: WebView present");
+        AnchorMatch match = findAnyAnchor(Anchor.WEB_VIEW, Anchor.NAVIGATE_UP, Anchor.TITLE);
+
+        if (match.isFound()) {
+            TestLog.info("Article available: " + match.getAnchor() + " present");
             return true;
         }
 
-        if (isElementPresent(navigateUpButton)) {
-            System.out.println("[INFO] Article available: Navigate Up visible");
-            return true;
+        TestLog.warn("Article not available after scroll");
+        return false;
+    }
+
+    /**
+     * Ищет любой из указанных якорей одним запросом.
+     *
+     * <p>
+     * Якоря объединяются в один UiAutomator-селектор, поэтому проверка
+     * готовности экрана стоит один round trip к Appium
+     * вместо отдельного findElements на каждый якорь
+     * и не требует сериализации всей иерархии, как XPath.
+     * </p>
+     *
+     * @param anchors проверяемые якоря
+     * @return результат поиска
+     */
+    public AnchorMatch findAnyAnchor(Anchor... anchors) {
+
+        List<WebElement> elements = driver.findElements(anchorSelector(anchors));
+        return new AnchorMatch(elements.isEmpty() ? null : elements.get(0), anchors);
+    }
+
+    /**
+     * Собирает UiAutomator-селектор для набора якорей.
+     */
+    private static By anchorSelector(Anchor... anchors) {
+
+        StringJoiner ids = new StringJoiner("|", "(", ")");
+        boolean navigateUp = false;
+
+        for (Anchor anchor : anchors) {
+            if (anchor.resourceId != null) {
+                ids.add(anchor.resourceId.replace(".", "\\\\."));
+            } else {
+                navigateUp = true;
+            }
         }
 
-        if (isElementPresent(articleTitle)) {
-            System.out.println("[INFO] Article available: Title visible");
-            return true;
+        StringJoiner selectors = new StringJoiner(";");
+        if (ids.length() > 2) {
+            selectors.add("new UiSelector().resourceIdMatches(\"" + ids + "\")");
+        }
+        if (navigateUp) {
+            selectors.add(Anchor.NAVIGATE_UP_SELECTOR);
         }
 
-        System.out.println("[WARN] Article not available after scroll");
-        return false;
+        return AppiumBy.androidUIAutomator(selectors.toString());
     }
 
+    // ===== VIEWPORT FINGERPRINT =====
+
     /**
-     * Универсальная проверка наличия элемента на экране.
+     * Возвращает компактный отпечаток видимой области статьи.
+     *
+     * <p>
+     * Отпечаток — идентификаторы первых видимых текстовых узлов WebView.
+     * UiAutomator2 выдаёт идентификатор по узлу доступности, поэтому
+     * после прокрутки верхние видимые узлы и их идентификаторы меняются.
+     * Для получения отпечатка достаточно одного findElements
+     * вместо передачи всей XML-иерархии через getPageSource().
+     * </p>
+     *
+     * @return отпечаток видимой области (пустая строка, если узлы не найдены)
      */
-    private boolean isElementPresent(By locator) {
-        List<WebElement> elements = driver.findElements(locator);
-        return !elements.isEmpty();
+    public String getViewportFingerprint() {
+
+        List<WebElement> nodes = driver.findElements(visibleArticleNodes);
+
+        StringBuilder fingerprint = new StringBuilder().append(nodes.size());
+        for (WebElement node : nodes.subList(0, Math.min(FINGERPRINT_NODES, nodes.size()))) {
+            fingerprint.append('|').append(((RemoteWebElement) node).getId());
+        }
+
+        return fingerprint.toString();
+    }
+
+    /**
+     * Проверяет, сдвинулась ли видимая область статьи.
+     *
+     * @param before отпечаток, снятый до действия
+     * @return true — если текущий отпечаток отличается от исходного
+     */
+    public boolean hasViewportMoved(String before) {
+
+        String after = getViewportFingerprint();
+        TestLog.info("Viewport fingerprint: " + before + " -> " + after);
+
+        return !after.equals(before);
     }
 
     // ===== SCROLL =====
 
     /**
-     * Выполняет вертикальную прокрутку статьи вниз.
+     * Выполняет вертикальную прокрутку статьи вниз (один жест).
      */
     public void scrollDown() {
 
-        int height = driver.manage().window().getSize().height;
-        int width  = driver.manage().window().getSize().width;
+        driver.perform(List.of(swipes(SessionCache.windowSize(driver), 1)));
+
+        TestLog.info("Article scrolled down");
+    }
+
+    /**
+     * Прокручивает статью до элемента.
+     *
+     * <p>
+     * Сначала выполняется одна серверная команда: UiScrollable прокручивает
+     * контейнер статьи до элемента внутри UiAutomator2, без обращений клиента
+     * за каждым жестом. Если UiScrollable не справился (например, контейнер
+     * не помечен как scrollable), сначала проверяется, не виден ли элемент
+     * уже сейчас, затем жесты отправляются пачками по
+     * {@value #SWIPES_PER_BATCH} в одной W3C-последовательности, а после каждой
+     * пачки наличие элемента проверяется снова. Глубокая прокрутка стоит одну команду
+     * или две команды на пачку жестов, а не перестроение жеста клиентом на каждый шаг.
+     * </p>
+     *
+     * @param target искомый элемент
+     * @return найденный элемент
+     * @throws NoSuchElementException если элемент не найден
+     */
+    public WebElement scrollTo(ScrollTarget target) {
+
+        try {
+            WebElement element = driver.findElement(AppiumBy.androidUIAutomator(
+                    "new UiScrollable(new UiSelector().scrollable(true).instance(0))"
+                            + ".setMaxSearchSwipes(" + MAX_SEARCH_SWIPES + ")"
+                            + ".scrollIntoView(" + target.selector + ")"
+            ));
+            TestLog.info("Scrolled to " + target + " via UiScrollable");
+            return element;
+
+        } catch (NoSuchElementException e) {
+            TestLog.info("UiScrollable did not reach " + target + ", falling back to gestures");
+        }
+
+        By locator = AppiumBy.androidUIAutomator(target.selector);
+        Dimension size = SessionCache.windowSize(driver);
+
+        for (int batch = 0; ; batch++) {
+
+            List<WebElement> found = driver.findElements(locator);
+            if (!found.isEmpty()) {
+                TestLog.info("Scrolled to " + target + " after " + batch + " gesture batch(es)");
+                return found.get(0);
+            }
+
+            if (batch == MAX_BATCHES) {
+                break;
+            }
+
+            driver.perform(List.of(swipes(size, SWIPES_PER_BATCH)));
+        }
+
+        throw new NoSuchElementException("Article element not reached by scrolling: " + target);
+    }
+
+    /**
+     * Последовательность из нескольких жестов прокрутки вниз
+     * (70% → 30% высоты экрана, 800 мс на жест) для одного вызова perform.
+     */
+    private static Sequence swipes(Dimension size, int count) {
 
-        int startX = width / 2;
-        int startY = (int) (height * 0.7);
-        int endY   = (int) (height * 0.3);
+        int startX = size.width / 2;
+        int startY = (int) (size.height * 0.7);
+        int endY   = (int) (size.height * 0.3);
 
         PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
         Sequence scroll = new Sequence(finger, 1);
 
-        scroll.addAction(finger.createPointerMove(
-                Duration.ZERO,
-                PointerInput.Origin.viewport(),
-                startX, startY
-        ));
-        scroll.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
-        scroll.addAction(finger.createPointerMove(
-                Duration.ofMillis(800),
-                PointerInput.Origin.viewport(),
-                startX, endY
-        ));
-        scroll.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
-
-        driver.perform(List.of(scroll));
+        for (int i = 0; i < count; i++) {
+            scroll.addAction(finger.createPointerMove(
+                    Duration.ZERO,
+                    PointerInput.Origin.viewport(),
+                    startX, startY
+            ));
+            scroll.addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()));
+            scroll.addAction(finger.createPointerMove(
+                    Duration.ofMillis(800),
+                    PointerInput.Origin.viewport(),
+                    startX, endY
+            ));
+            scroll.addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+            // короткая пауза, чтобы следующий жест не продолжил инерцию предыдущего
+            scroll.addAction(new Pause(finger, SWIPE_PAUSE));
+        }
 
-        System.out.println("[INFO] Article scrolled down");
+        return scroll;
     }
 }
@@ -2,8 +2,13 @@ package ru.mifi.testing.mobile.pages;
 
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.mobile.driver.MobileDriverRegistry;
+
+import java.util.List;
 
 /**
  * Page Object главного экрана мобильного приложения Wikipedia.
@@ -34,6 +39,13 @@ public class MainPage {
     private final By skipButton =
             By.id("org.wikipedia.alpha:id/fragment_onboarding_skip_button");
 
+    /**
+     * Page object для сессии текущего потока теста.
+     */
+    public MainPage() {
+        this(MobileDriverRegistry.getDriver(), MobileDriverRegistry.getWait());
+    }
+
     public MainPage(AndroidDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
@@ -43,15 +55,23 @@ public class MainPage {
      * Пропуск онбординга, если он отображается.
      * <p>
      * Метод безопасен: если онбординга нет — ничего не делает.
+     * Для приложения в подготовленном состоянии проверка не выполняется.
      * </p>
      */
     public void skipOnboardingIfPresent() {
 
-        if (!driver.findElements(skipButton).isEmpty()) {
-            driver.findElement(skipButton).click();
-            System.out.println("[INFO] Onboarding skipped");
+        if (MobileDriverRegistry.isAppStateSeeded()) {
+            TestLog.info("Onboarding passed during state seeding");
+            return;
+        }
+
+        List<WebElement> skip = driver.findElements(skipButton);
+
+        if (!skip.isEmpty()) {
+            skip.get(0).click();
+            TestLog.info("Onboarding skipped");
         } else {
-            System.out.println("[INFO] Onboarding not present");
+            TestLog.info("Onboarding not present");
         }
     }
 
@@ -67,7 +87,7 @@ public class MainPage {
         ).isDisplayed();
 
         if (opened) {
-            System.out.println("[INFO] Main page opened");
+            TestLog.info("Main page opened");
         }
 
         return opened;
@@ -82,6 +102,6 @@ public class MainPage {
                 ExpectedConditions.presenceOfElementLocated(searchContainer)
         ).click();
 
-        System.out.println("[INFO] Search screen opened");
+        TestLog.info("Search screen opened");
     }
 }
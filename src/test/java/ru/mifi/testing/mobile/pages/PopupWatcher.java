@@ -0,0 +1,95 @@
+package ru.mifi.testing.mobile.pages;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+
+import java.util.List;
+
+/**
+ * Закрытие всплывающих окон приложения Wikipedia.
+ *
+ * <p>
+ * Обрабатываются:
+ * <ul>
+ *     <li>окно Wikipedia Games — кнопка {@code closeButton}</li>
+ *     <li>окно Customize Toolbar — кнопка "Got it" ({@code positiveButton})</li>
+ * </ul>
+ * Кнопка {@code positiveButton} используется и в карточках ленты,
+ * поэтому она нажимается только с текстом подсказки панели ("Got it").
+ * </p>
+ *
+ * <p>
+ * Оба окна ищутся одним запросом без ожидания
+ * ({@link #dismissIfPresent(AndroidDriver)}), поэтому на чистом экране
+ * проверка стоит один round trip к Appium вместо двух трёхсекундных ожиданий.
+ * Окна, появившиеся позже, закрываются во время явных ожиданий:
+ * {@link #watch(AdaptiveWait, AndroidDriver)} выполняет ту же проверку
+ * после каждой {@value #POLLS_PER_CHECK}-й неудачной проверки условия,
+ * а не перед каждым опросом.
+ * </p>
+ */
+public final class PopupWatcher {
+
+    /** Кнопка закрытия окна Wikipedia Games */
+    private static final String GAMES_CLOSE_BUTTON_ID = "org.wikipedia.alpha:id/closeButton";
+
+    /** Кнопка "Got it" в окне Customize Toolbar */
+    private static final String TOOLBAR_GOT_IT_BUTTON_ID = "org.wikipedia.alpha:id/positiveButton";
+
+    /** Текст кнопки окна Customize Toolbar */
+    private static final String TOOLBAR_GOT_IT_TEXT = "Got it";
+
+    /** Через сколько неудачных проверок ожидания искать окна */
+    private static final int POLLS_PER_CHECK = 3;
+
+    /**
+     * Кнопки закрытия обоих окон одним UiAutomator-запросом
+     * (селекторы окон объединены через {@code ;})
+     */
+    private static final By POPUP_BUTTONS = AppiumBy.androidUIAutomator(
+            "new UiSelector().resourceId(\"" + GAMES_CLOSE_BUTTON_ID + "\");"
+                    + "new UiSelector().resourceId(\"" + TOOLBAR_GOT_IT_BUTTON_ID + "\")"
+                    + ".text(\"" + TOOLBAR_GOT_IT_TEXT + "\")"
+    );
+
+    private PopupWatcher() {
+    }
+
+    /**
+     * Закрывает всплывающие окна, которые отображаются прямо сейчас.
+     * Не ждёт появления окон.
+     *
+     * @return число закрытых окон
+     */
+    public static int dismissIfPresent(AndroidDriver driver) {
+
+        List<WebElement> buttons = driver.findElements(POPUP_BUTTONS);
+
+        for (WebElement button : buttons) {
+            String id = button.getAttribute("resource-id");
+            button.click();
+
+            if (GAMES_CLOSE_BUTTON_ID.equals(id)) {
+                TestLog.info("Wikipedia Games popup closed");
+            } else if (TOOLBAR_GOT_IT_BUTTON_ID.equals(id)) {
+                TestLog.info("Customize Toolbar popup closed");
+            }
+        }
+
+        return buttons.size();
+    }
+
+    /**
+     * Подключает закрытие всплывающих окон к неудачным проверкам ожидания
+     * (после каждой {@value #POLLS_PER_CHECK}-й).
+     *
+     * @return это же ожидание
+     */
+    public static AdaptiveWait watch(AdaptiveWait wait, AndroidDriver driver) {
+        return wait.onRetry(() -> dismissIfPresent(driver), POLLS_PER_CHECK);
+    }
+}
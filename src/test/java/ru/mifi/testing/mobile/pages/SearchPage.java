@@ -2,12 +2,27 @@ package ru.mifi.testing.mobile.pages;
 
 import io.appium.java_client.android.AndroidDriver;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+import ru.mifi.testing.mobile.driver.MobileDriverRegistry;
 
-import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Page Object экрана поиска мобильного приложения Wikipedia.
@@ -16,7 +31,8 @@ import java.util.List;
  * Отвечает за:
  * <ul>
  *     <li>ввод поискового запроса</li>
- *     <li>получение результатов поиска</li>
+ *     <li>получение результатов поиска: первого (с кэшированием)
+ *     и потоком заголовков с прокруткой списка</li>
  *     <li>переход к статье из результатов</li>
  * </ul>
  * </p>
@@ -38,43 +54,141 @@ public class SearchPage {
     private final By searchResults =
             By.id("org.wikipedia.alpha:id/page_list_item_title");
 
+    /**
+     * Прокручиваемый список результатов
+     */
+    private final By searchResultsList =
+            By.id("org.wikipedia.alpha:id/search_results_list");
+
+    /** Доля высоты списка, на которую он прокручивается за одну порцию */
+    private static final double SCROLL_PERCENT = 0.75;
+
+    /** Первый результат текущего запроса (null — ещё не найден) */
+    private WebElement firstResult;
+
+    /**
+     * Page object для сессии текущего потока теста.
+     */
+    public SearchPage() {
+        this(MobileDriverRegistry.getDriver());
+    }
+
     public SearchPage(AndroidDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        AdaptiveWait adaptiveWait = new AdaptiveWait(driver, MobileTestConfig.getWaitTimeout());
+        this.wait = MobileDriverRegistry.isAppStateSeeded()
+                ? adaptiveWait
+                : PopupWatcher.watch(adaptiveWait, driver);
     }
 
     /**
-     * Ввод поискового запроса
+     * Ввод поискового запроса.
+     * Результаты предыдущего запроса перестают использоваться.
      *
      * @param query текст запроса
      */
     public void enterQuery(String query) {
 
+        firstResult = null;
+
         wait.until(
                 ExpectedConditions.presenceOfElementLocated(searchInput)
         ).sendKeys(query);
 
-        System.out.println("[INFO] Search query entered: " + query);
+        TestLog.info("Search query entered: " + query);
     }
 
     /**
-     * Получение списка результатов поиска
+     * Очищает поле запроса. Результаты предыдущего запроса при этом
+     * исчезают с экрана, поэтому следующий {@link #getFirstResult()}
+     * дождётся результатов нового запроса.
+     */
+    public void clearQuery() {
+
+        firstResult = null;
+
+        wait.until(
+                ExpectedConditions.presenceOfElementLocated(searchInput)
+        ).clear();
+    }
+
+    /**
+     * Первый результат поиска.
+     *
+     * <p>
+     * Ожидание выполняется один раз на запрос, найденный элемент запоминается,
+     * поэтому {@link #hasResults()} и {@link #openFirstResult()} не повторяют
+     * ожидание и не загружают весь список результатов.
+     * </p>
+     *
+     * @return элемент первого результата
+     * @throws TimeoutException если результаты не появились
+     */
+    public WebElement getFirstResult() {
+
+        if (firstResult == null) {
+            firstResult = wait.until(
+                    ExpectedConditions.presenceOfElementLocated(searchResults)
+            );
+        }
+
+        return firstResult;
+    }
+
+    /**
+     * Первый результат поиска, отображаемый прямо сейчас.
+     * Не ждёт появления результатов и не использует кэш
+     * {@link #getFirstResult()} — один запрос к Appium.
+     *
+     * @return элемент первого результата или null, если результатов на экране нет
+     */
+    public WebElement findFirstResultNow() {
+
+        List<WebElement> results = driver.findElements(searchResults);
+
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * Получение списка результатов поиска, видимых на экране
      *
      * @return список элементов результатов
      */
     public List<WebElement> getResults() {
 
-        wait.until(
-                ExpectedConditions.presenceOfElementLocated(searchResults)
-        );
+        getFirstResult();
 
         List<WebElement> results = driver.findElements(searchResults);
 
-        System.out.println("[INFO] Search results found: " + results.size());
+        TestLog.info("Search results found: " + results.size());
 
         return results;
     }
 
+    /**
+     * Заголовки результатов поиска по мере прокрутки списка.
+     *
+     * <p>
+     * Поток ленивый: сначала читаются заголовки, видимые на экране,
+     * следующая порция загружается только когда потребитель дошёл до конца
+     * текущей — список результатов прокручивается одной серверной командой
+     * ({@code mobile: scrollGesture}). Повторно показанные после прокрутки
+     * строки пропускаются по позиции в списке, а не по тексту: начало новой
+     * порции сопоставляется с концом предыдущей, поэтому разные результаты
+     * с одинаковым заголовком не теряются. Поток заканчивается, когда список
+     * больше не прокручивается, например:
+     * <pre>
+     * searchPage.streamResultTitles().limit(50).toList();
+     * </pre>
+     * </p>
+     *
+     * @return поток заголовков (пустой, если результатов нет)
+     */
+    public Stream<String> streamResultTitles() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new ResultTitles(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
     /**
      * Проверка наличия результатов поиска
      *
@@ -82,12 +196,17 @@ public class SearchPage {
      */
     public boolean hasResults() {
 
-        boolean hasResults = !getResults().isEmpty();
+        boolean hasResults;
+        try {
+            hasResults = getFirstResult() != null;
+        } catch (TimeoutException e) {
+            hasResults = false;
+        }
 
         if (hasResults) {
-            System.out.println("[INFO] Search results are present");
+            TestLog.info("Search results are present");
         } else {
-            System.out.println("[WARN] No search results found");
+            TestLog.warn("No search results found");
         }
 
         return hasResults;
@@ -98,8 +217,97 @@ public class SearchPage {
      */
     public void openFirstResult() {
 
-        getResults().get(0).click();
+        getFirstResult().click();
+        firstResult = null;
+
+        TestLog.info("First search result opened");
+    }
 
-        System.out.println("[INFO] First search result opened");
+    /* ===================== Internals ===================== */
+
+    /**
+     * Прокручивает список результатов на одну порцию.
+     *
+     * @return true — если список можно прокрутить дальше
+     */
+    private boolean scrollResults() {
+
+        // элементы списка переиспользуются при прокрутке
+        firstResult = null;
+
+        WebElement list = driver.findElement(searchResultsList);
+
+        return Boolean.TRUE.equals(driver.executeScript("mobile: scrollGesture", Map.of(
+                "elementId", ((RemoteWebElement) list).getId(),
+                "direction", "down",
+                "percent", SCROLL_PERCENT
+        )));
+    }
+
+    /**
+     * Порции заголовков результатов, загружаемые по требованию.
+     */
+    private final class ResultTitles implements Iterator<String> {
+
+        private final Deque<String> pending = new ArrayDeque<>();
+
+        /** Заголовки предыдущей порции в порядке отображения */
+        private List<String> screen = List.of();
+
+        private boolean started;
+        private boolean canScrollMore = true;
+
+        @Override
+        public boolean hasNext() {
+
+            while (pending.isEmpty()) {
+
+                if (!started) {
+                    started = true;
+                    if (!hasResults()) {
+                        return false;
+                    }
+                } else if (canScrollMore) {
+                    canScrollMore = scrollResults();
+                } else {
+                    return false;
+                }
+
+                List<String> current = new ArrayList<>();
+                for (WebElement title : driver.findElements(searchResults)) {
+                    current.add(title.getText());
+                }
+
+                pending.addAll(current.subList(overlap(screen, current), current.size()));
+                screen = current;
+            }
+
+            return true;
+        }
+
+        /**
+         * Число строк в начале новой порции, которые уже были в конце предыдущей.
+         */
+        private int overlap(List<String> previous, List<String> current) {
+
+            for (int size = Math.min(previous.size(), current.size()); size > 0; size--) {
+                if (previous.subList(previous.size() - size, previous.size())
+                        .equals(current.subList(0, size))) {
+                    return size;
+                }
+            }
+
+            return 0;
+        }
+
+        @Override
+        public String next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return pending.poll();
+        }
     }
 }
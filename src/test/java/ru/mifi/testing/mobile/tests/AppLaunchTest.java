@@ -2,6 +2,7 @@ package ru.mifi.testing.mobile.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.mobile.base.BaseMobileTest;
 import ru.mifi.testing.mobile.pages.MainPage;
 
@@ -29,19 +30,19 @@ public class AppLaunchTest extends BaseMobileTest {
     @Test
     public void shouldOpenMainScreen() {
 
-        System.out.println("[TEST] AppLaunchTest: start");
+        TestLog.test("AppLaunchTest: start");
 
-        MainPage mainPage = new MainPage(driver, wait);
+        MainPage mainPage = new MainPage();
 
-        System.out.println("[STEP] Skip onboarding if present");
+        TestLog.step("Skip onboarding if present");
         mainPage.skipOnboardingIfPresent();
 
-        System.out.println("[STEP] Check main screen is opened");
+        TestLog.step("Check main screen is opened");
         Assert.assertTrue(
                 mainPage.isOpened(),
                 "Главный экран Wikipedia не открыт"
         );
 
-        System.out.println("[PASS] AppLaunchTest: main screen opened successfully");
+        TestLog.pass("AppLaunchTest: main screen opened successfully");
     }
 }
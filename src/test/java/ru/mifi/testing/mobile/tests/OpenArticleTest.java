@@ -1,6 +1,7 @@
 package ru.mifi.testing.mobile.tests;
 
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.mobile.base.BaseMobileTest;
 import ru.mifi.testing.mobile.pages.ArticlePage;
 import ru.mifi.testing.mobile.pages.MainPage;
@@ -37,34 +38,34 @@ public class OpenArticleTest extends BaseMobileTest {
     @Test
     void shouldOpenArticle() {
 
-        System.out.println("[TEST] OpenArticleTest: start");
+        TestLog.test("OpenArticleTest: start");
 
-        MainPage mainPage = new MainPage(driver, wait);
-        SearchPage searchPage = new SearchPage(driver);
-        ArticlePage articlePage = new ArticlePage(driver, wait);
+        MainPage mainPage = new MainPage();
+        SearchPage searchPage = new SearchPage();
+        ArticlePage articlePage = new ArticlePage();
 
-        System.out.println("[STEP] Skip onboarding if present");
+        TestLog.step("Skip onboarding if present");
         mainPage.skipOnboardingIfPresent();
 
-        System.out.println("[STEP] Open search screen");
+        TestLog.step("Open search screen");
         mainPage.openSearch();
 
-        System.out.println("[STEP] Enter search query: Java");
+        TestLog.step("Enter search query: Java");
         searchPage.enterQuery("Java");
 
-        System.out.println("[STEP] Open first search result");
+        TestLog.step("Open first search result");
         searchPage.openFirstResult();
 
         // критический шаг для стабильности теста
-        System.out.println("[STEP] Close article popups if present");
+        TestLog.step("Close article popups if present");
         articlePage.closePopupsIfPresent();
 
-        System.out.println("[STEP] Verify article is opened");
+        TestLog.step("Verify article is opened");
         assertTrue(
                 articlePage.isOpened(),
                 "Статья не открылась"
         );
 
-        System.out.println("[PASS] OpenArticleTest: article successfully opened");
+        TestLog.pass("OpenArticleTest: article successfully opened");
     }
 }
@@ -1,10 +1,11 @@
 package ru.mifi.testing.mobile.tests;
 
+import org.openqa.selenium.WebElement;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.mobile.base.BaseMobileTest;
 import ru.mifi.testing.mobile.pages.ArticlePage;
-import ru.mifi.testing.mobile.pages.MainPage;
-import ru.mifi.testing.mobile.pages.SearchPage;
+import ru.mifi.testing.mobile.pages.ArticlePage.ScrollTarget;
 
 import static org.testng.Assert.assertTrue;
 
@@ -15,19 +16,19 @@ import static org.testng.Assert.assertTrue;
  * Сценарий теста:
  * <ul>
  *     <li>запуск приложения</li>
- *     <li>пропуск онбординга (если есть)</li>
- *     <li>поиск статьи</li>
- *     <li>открытие первой статьи из результатов</li>
+ *     <li>открытие статьи по deep link (поиск не нужен — предмет теста экран статьи)</li>
  *     <li>прокрутка экрана статьи вниз</li>
  *     <li>проверка, что контент статьи изменился после прокрутки</li>
+ *     <li>прокрутка до раздела статьи ({@link ArticlePage#scrollTo(ScrollTarget)})</li>
  * </ul>
  * </p>
  *
  * <p>
- * Проверка прокрутки выполняется через сравнение DOM-состояния
- * (page source) до и после жеста scroll.
- * Такой подход позволяет убедиться, что экран действительно
- * отреагировал на жест, даже если якоря остаются на экране.
+ * Проверка прокрутки выполняется через сравнение компактного отпечатка
+ * видимой области статьи (см. {@link ArticlePage#getViewportFingerprint()})
+ * до и после жеста scroll. Такой подход позволяет убедиться, что экран
+ * действительно отреагировал на жест, даже если якоря остаются на экране,
+ * и не требует выгрузки всей XML-иерархии через getPageSource().
  * </p>
  */
 public class ScrollArticleTest extends BaseMobileTest {
@@ -38,42 +39,60 @@ public class ScrollArticleTest extends BaseMobileTest {
     @Test
     void shouldScrollArticle() {
 
-        System.out.println("[TEST] ScrollArticleTest: start");
+        TestLog.test("ScrollArticleTest: start");
 
-        MainPage mainPage = new MainPage(driver, wait);
-        SearchPage searchPage = new SearchPage(driver);
-        ArticlePage articlePage = new ArticlePage(driver, wait);
+        ArticlePage articlePage = new ArticlePage();
 
-        System.out.println("[STEP] Skip onboarding if present");
-        mainPage.skipOnboardingIfPresent();
+        TestLog.step("Open article via deep link: Java");
+        articlePage.openByDeepLink("Java");
 
-        System.out.println("[STEP] Open search screen");
-        mainPage.openSearch();
+        TestLog.step("Close article popups if present");
+        articlePage.closePopupsIfPresent();
 
-        System.out.println("[STEP] Enter search query: Java");
-        searchPage.enterQuery("Java");
+        TestLog.step("Capture viewport fingerprint before scroll");
+        String beforeScroll = articlePage.getViewportFingerprint();
 
-        System.out.println("[STEP] Open first search result");
-        searchPage.openFirstResult();
+        TestLog.step("Perform scroll down gesture");
+        articlePage.scrollDown();
 
-        System.out.println("[STEP] Close article popups if present");
-        articlePage.closePopupsIfPresent();
+        TestLog.step("Verify article viewport moved after scroll");
+        assertTrue(
+                articlePage.hasViewportMoved(beforeScroll),
+                "Контент статьи не изменился после прокрутки"
+        );
 
-        System.out.println("[STEP] Capture page source before scroll");
-        String beforeScroll = driver.getPageSource();
+        TestLog.pass("ScrollArticleTest: article successfully scrolled");
+    }
 
-        System.out.println("[STEP] Perform scroll down gesture");
-        articlePage.scrollDown();
+    /**
+     * Проверка прокрутки статьи до раздела.
+     */
+    @Test
+    void shouldScrollToSection() {
+
+        TestLog.test("ScrollArticleTest: scroll to section");
 
-        System.out.println("[STEP] Capture page source after scroll");
-        String afterScroll = driver.getPageSource();
+        ArticlePage articlePage = new ArticlePage();
 
-        System.out.println("[STEP] Verify article content changed after scroll");
+        TestLog.step("Open article via deep link: Java");
+        articlePage.openByDeepLink("Java");
+
+        TestLog.step("Close article popups if present");
+        articlePage.closePopupsIfPresent();
+
+        TestLog.step("Capture viewport fingerprint before scroll");
+        String beforeScroll = articlePage.getViewportFingerprint();
+
+        TestLog.step("Scroll to section: History");
+        WebElement heading = articlePage.scrollTo(ScrollTarget.section("History"));
+
+        TestLog.check("Section heading is displayed and viewport moved");
+        assertTrue(heading.isDisplayed(), "Заголовок раздела History не отображается");
         assertTrue(
-                !beforeScroll.equals(afterScroll),
-                "Контент статьи не изменился после прокрутки"
+                articlePage.hasViewportMoved(beforeScroll),
+                "Контент статьи не изменился после прокрутки до раздела"
         );
 
-        System.out.println("[PASS] ScrollArticleTest: article successfully scrolled");
+        TestLog.pass("ScrollArticleTest: section reached");
     }
 }
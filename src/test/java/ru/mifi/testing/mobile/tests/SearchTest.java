@@ -2,10 +2,13 @@ package ru.mifi.testing.mobile.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.mobile.base.BaseMobileTest;
 import ru.mifi.testing.mobile.pages.MainPage;
 import ru.mifi.testing.mobile.pages.SearchPage;
 
+import java.util.List;
+
 /**
  * Тест поиска статьи в мобильном приложении Wikipedia.
  *
@@ -16,6 +19,7 @@ import ru.mifi.testing.mobile.pages.SearchPage;
  *     <li>переход на экран поиска</li>
  *     <li>ввод поискового запроса</li>
  *     <li>отображение результатов поиска</li>
+ *     <li>чтение заголовков результатов с прокруткой списка</li>
  * </ul>
  * </p>
  *
@@ -25,32 +29,67 @@ import ru.mifi.testing.mobile.pages.SearchPage;
  */
 public class SearchTest extends BaseMobileTest {
 
+    /** Сколько заголовков читать сверх видимых на первом экране */
+    private static final int STREAMED_BEYOND_SCREEN = 10;
+
     /**
      * Проверка поиска статьи по ключевому слову.
      */
     @Test
     public void shouldSearchArticle() {
 
-        System.out.println("[TEST] SearchTest: start");
+        TestLog.test("SearchTest: start");
 
-        MainPage mainPage = new MainPage(driver, wait);
-        SearchPage searchPage = new SearchPage(driver);
+        MainPage mainPage = new MainPage();
+        SearchPage searchPage = new SearchPage();
 
-        System.out.println("[STEP] Skip onboarding if present");
+        TestLog.step("Skip onboarding if present");
         mainPage.skipOnboardingIfPresent();
 
-        System.out.println("[STEP] Open search screen");
+        TestLog.step("Open search screen");
         mainPage.openSearch();
 
-        System.out.println("[STEP] Enter search query: Java");
+        TestLog.step("Enter search query: Java");
         searchPage.enterQuery("Java");
 
-        System.out.println("[STEP] Verify search results are present");
+        TestLog.step("Verify search results are present");
         Assert.assertTrue(
                 searchPage.hasResults(),
                 "Результаты поиска не найдены"
         );
 
-        System.out.println("[PASS] SearchTest: search results displayed");
+        TestLog.pass("SearchTest: search results displayed");
+    }
+
+    /**
+     * Проверка потока заголовков, который выходит за пределы первого экрана.
+     */
+    @Test
+    public void shouldStreamResultTitlesAcrossScroll() {
+
+        TestLog.test("SearchTest: stream result titles");
+
+        MainPage mainPage = new MainPage();
+        SearchPage searchPage = new SearchPage();
+
+        TestLog.step("Skip onboarding if present");
+        mainPage.skipOnboardingIfPresent();
+
+        TestLog.step("Open search screen");
+        mainPage.openSearch();
+
+        TestLog.step("Enter search query: Java");
+        searchPage.enterQuery("Java");
+
+        int onScreen = searchPage.getResults().size();
+        int limit = onScreen + STREAMED_BEYOND_SCREEN;
+
+        TestLog.step("Read " + limit + " result titles (" + onScreen + " on first screen)");
+        List<String> titles = searchPage.streamResultTitles().limit(limit).toList();
+
+        TestLog.check("Verify titles beyond the first screen were read");
+        Assert.assertEquals(titles.size(), limit, "Поток заголовков закончился на первом экране");
+
+        TestLog.pass("SearchTest: " + titles.size() + " result titles streamed");
     }
 }
@@ -0,0 +1,341 @@
+package ru.mifi.testing.mobile.tests;
+
+import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.metrics.CommandMetrics;
+import ru.mifi.testing.common.metrics.LatencyHistogram;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.mobile.base.AppStateSeeder;
+import ru.mifi.testing.mobile.config.MobileTestConfig;
+import ru.mifi.testing.mobile.driver.Device;
+import ru.mifi.testing.mobile.driver.DevicePool;
+import ru.mifi.testing.mobile.driver.MobileDriverRegistry;
+import ru.mifi.testing.mobile.driver.MobileSessionManager;
+import ru.mifi.testing.mobile.driver.MobileSessionManager.ReuseMode;
+import ru.mifi.testing.mobile.pages.MainPage;
+import ru.mifi.testing.mobile.pages.PopupWatcher;
+import ru.mifi.testing.mobile.pages.SearchPage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Нагрузочный прогон поиска по корпусу запросов.
+ *
+ * <p>
+ * Запросы читаются из файла ({@code -Dsearch.corpus}, по умолчанию
+ * ресурс {@code search-corpus.txt}) в общую очередь. На каждом устройстве
+ * из {@code mobile.devices} работает свой поток: берёт очередной запрос,
+ * очищает поле поиска, вводит запрос через {@link SearchPage#enterQuery}
+ * и ждёт первый результат. Время от ввода до первого результата
+ * записывается в гистограмму.
+ * </p>
+ *
+ * <p>
+ * Первый результат опрашивается с фиксированным коротким интервалом
+ * ({@value #POLL_INTERVAL_MILLIS} мс) одиночными findElements, а не через
+ * {@link AdaptiveWait}: нарастающая пауза между опросами ожидания
+ * округляла бы замеры до своих ступеней. Перед замером тест дожидается,
+ * пока первый результат предыдущего запроса станет stale, а в замере
+ * принимает только элемент, отличный от него, — поэтому оставшийся
+ * на экране результат предыдущего запроса не засчитывается новому.
+ * </p>
+ *
+ * <p>
+ * В конце выводятся p50/p90/p99 и пропускная способность (запросов в минуту),
+ * общие и по устройствам; отчёт сохраняется в {@code target/search-throughput.json}.
+ * </p>
+ *
+ * <p>
+ * Тест не входит в testng-mobile.xml и без {@code -Dsearch.benchmark=true} пропускается:
+ * <pre>
+ * mvn test -Dtest=SearchThroughputTest -Dsearch.benchmark=true
+ * </pre>
+ * </p>
+ */
+public class SearchThroughputTest {
+
+    private static final String DEFAULT_CORPUS = "search-corpus.txt";
+
+    private static final Path REPORT_FILE = Path.of("target", "search-throughput.json");
+
+    /** Интервал опроса первого результата при замере, мс */
+    private static final long POLL_INTERVAL_MILLIS = 25;
+
+    /** Гистограммы времени до первого результата по устройствам */
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    /** Запросы без результатов (таймаут) по устройствам */
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    @Test(groups = "benchmark")
+    public void searchLatencyAcrossDevices() throws Exception {
+
+        if (!Boolean.getBoolean("search.benchmark")) {
+            throw new SkipException("Search benchmark is disabled, run with -Dsearch.benchmark=true");
+        }
+
+        List<String> corpus = readCorpus();
+        Queue<String> queries = new ConcurrentLinkedQueue<>(corpus);
+        int devices = DevicePool.size();
+
+        TestLog.info("Search benchmark: " + corpus.size() + " queries on " + devices + " device(s)");
+
+        ExecutorService workers = Executors.newFixedThreadPool(devices);
+        long start = System.nanoTime();
+
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < devices; i++) {
+                running.add(workers.submit(() -> runQueries(queries)));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        report(wallSeconds);
+
+        LatencyHistogram total = totalLatency();
+        Assert.assertTrue(total.getCount() > 0, "Ни один запрос не вернул результатов");
+    }
+
+    /* ===================== Worker ===================== */
+
+    /**
+     * Выполняет запросы из очереди на свободном устройстве, пока очередь не опустеет.
+     */
+    private void runQueries(Queue<String> queries) {
+
+        Device device = DevicePool.lease();
+        String udid = device.getUdid();
+
+        TestLog.startTest("SearchThroughputTest", udid);
+        CommandMetrics.startTest("SearchThroughputTest");
+
+        LatencyHistogram histogram = latencies.computeIfAbsent(udid, d -> new LatencyHistogram());
+        AtomicInteger failed = failures.computeIfAbsent(udid, d -> new AtomicInteger());
+
+        try {
+            AppStateSeeder.seedIfNeeded(device);
+
+            AndroidDriver driver = MobileSessionManager.acquire(device);
+            boolean seeded = MobileSessionManager.isSeeded(device);
+            AdaptiveWait wait = new AdaptiveWait(driver, MobileTestConfig.getWaitTimeout());
+            MobileDriverRegistry.register(driver,
+                    seeded ? wait : PopupWatcher.watch(wait, driver), seeded);
+
+            try {
+                MainPage mainPage = new MainPage();
+                mainPage.skipOnboardingIfPresent();
+                mainPage.openSearch();
+
+                SearchPage searchPage = new SearchPage();
+                Duration timeout = MobileTestConfig.getWaitTimeout();
+
+                String query;
+                while ((query = queries.poll()) != null) {
+
+                    WebElement previous = searchPage.findFirstResultNow();
+                    searchPage.clearQuery();
+
+                    if (!awaitStale(previous, timeout)) {
+                        TestLog.warn("Previous results are still shown before query: " + query);
+                    }
+
+                    long queryStart = System.nanoTime();
+                    searchPage.enterQuery(query);
+
+                    if (awaitNewResult(searchPage, previous, timeout)) {
+                        histogram.add(System.nanoTime() - queryStart);
+                    } else {
+                        TestLog.warn("No search results for query: " + query);
+                        failed.incrementAndGet();
+                    }
+                }
+
+            } finally {
+                MobileSessionManager.release(MobileDriverRegistry.unregister());
+                if (MobileSessionManager.getReuseMode() != ReuseMode.NONE) {
+                    MobileSessionManager.closeSession(device);
+                }
+            }
+
+        } finally {
+            DevicePool.release(device);
+            CommandMetrics.finishTest();
+            TestLog.finishTest();
+        }
+    }
+
+    /**
+     * Ждёт, пока элемент предыдущего результата исчезнет из иерархии.
+     *
+     * @return true — если элемента больше нет (или его не было)
+     */
+    private static boolean awaitStale(WebElement previous, Duration timeout) {
+
+        if (previous == null) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            try {
+                previous.isDisplayed();
+            } catch (StaleElementReferenceException | NoSuchElementException e) {
+                return true;
+            }
+
+            if (System.nanoTime() >= deadline || !pause()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Опрашивает первый результат с фиксированным интервалом, пока не появится
+     * результат, отличный от результата предыдущего запроса.
+     *
+     * @return true — если результат нового запроса появился до таймаута
+     */
+    private static boolean awaitNewResult(SearchPage searchPage, WebElement previous, Duration timeout) {
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            WebElement first = searchPage.findFirstResultNow();
+
+            if (first != null && !first.equals(previous)) {
+                return true;
+            }
+
+            if (System.nanoTime() >= deadline || !pause()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Пауза между опросами.
+     *
+     * @return false — если поток прерван
+     */
+    private static boolean pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /* ===================== Corpus ===================== */
+
+    private static List<String> readCorpus() throws IOException {
+
+        String location = System.getProperty("search.corpus");
+        String content;
+
+        if (location != null) {
+            content = Files.readString(Path.of(location), StandardCharsets.UTF_8);
+        } else {
+            try (InputStream input = SearchThroughputTest.class.getClassLoader()
+                    .getResourceAsStream(DEFAULT_CORPUS)) {
+                if (input == null) {
+                    throw new IllegalStateException("Resource not found: " + DEFAULT_CORPUS);
+                }
+                content = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        List<String> queries = new ArrayList<>();
+        for (String line : content.split("\\R")) {
+            String query = line.trim();
+            if (!query.isEmpty() && !query.startsWith("#")) {
+                queries.add(query);
+            }
+        }
+
+        return queries;
+    }
+
+    /* ===================== Report ===================== */
+
+    private LatencyHistogram totalLatency() {
+        LatencyHistogram total = new LatencyHistogram();
+        latencies.values().forEach(total::merge);
+        return total;
+    }
+
+    private void report(double wallSeconds) {
+
+        LatencyHistogram total = totalLatency();
+        int failed = failures.values().stream().mapToInt(AtomicInteger::get).sum();
+
+        Map<String, Object> stats = total.toMap();
+        double perMinute = wallSeconds == 0 ? 0 : total.getCount() * 60 / wallSeconds;
+
+        TestLog.info("Search: %d queries (%d without results) in %.1f s, %.1f queries/min",
+                total.getCount(), failed, wallSeconds, perMinute);
+        TestLog.info("Time to first result: p50 %s ms, p90 %s ms, p99 %s ms",
+                stats.get("p50Ms"), stats.get("p90Ms"), stats.get("p99Ms"));
+
+        Map<String, Object> perDevice = new TreeMap<>();
+        latencies.forEach((udid, histogram) -> {
+            Map<String, Object> deviceStats = histogram.toMap();
+            deviceStats.put("failed", failures.get(udid).get());
+            perDevice.put(udid, deviceStats);
+
+            TestLog.info("  %s: %d queries, p50 %s ms, p90 %s ms, p99 %s ms",
+                    udid, histogram.getCount(), deviceStats.get("p50Ms"),
+                    deviceStats.get("p90Ms"), deviceStats.get("p99Ms"));
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("queries", total.getCount());
+        report.put("failed", failed);
+        report.put("devices", latencies.size());
+        report.put("wallSeconds", Math.round(wallSeconds * 10) / 10.0);
+        report.put("queriesPerMinute", Math.round(perMinute * 10) / 10.0);
+        report.put("timeToFirstResult", stats);
+        report.put("perDevice", perDevice);
+
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, new Json().toJson(report), StandardCharsets.UTF_8);
+            TestLog.info("Search throughput report saved: " + REPORT_FILE);
+        } catch (IOException e) {
+            TestLog.warn("Failed to save search throughput report: " + e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,43 @@
 package ru.mifi.testing.web.base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import ru.mifi.testing.common.cache.NavigationListener;
+import ru.mifi.testing.common.cache.SessionCache;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.metrics.CommandMetrics;
+import ru.mifi.testing.common.metrics.CommandTimingListener;
+import ru.mifi.testing.common.metrics.SuiteReports;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.common.wait.TestDeadline;
 import ru.mifi.testing.web.config.WebTestConfig;
+import ru.mifi.testing.web.driver.WebDriverFactory;
+import ru.mifi.testing.web.driver.WebDriverPool;
+import ru.mifi.testing.web.driver.WebDriverRegistry;
+import ru.mifi.testing.web.har.HarSupport;
+import ru.mifi.testing.web.offline.FixtureServer;
+
+import java.lang.reflect.Method;
 
 /**
  * Базовый класс для всех веб-автотестов.
  *
  * Отвечает за:
- *  - инициализацию WebDriver
- *  - выбор браузера
- *  - настройку ожиданий
+ *  - инициализацию WebDriver через {@link WebDriverFactory}
+ *  - настройку ожиданий ({@link AdaptiveWait}) и вывод их статистики
+ *  - общий бюджет времени теста ({@link TestDeadline})
+ *  - измерение задержек команд драйвера ({@link CommandTimingListener})
+ *  - отслеживание переходов для кэша элементов ({@link SessionCache})
+ *  - контекст журнала {@link TestLog}: имя теста и браузер
+ *  - выдачу браузерных сессий из пула и возврат их после теста
+ *  - регистрацию драйвера в {@link WebDriverRegistry} для текущего потока
+ *  - запуск локального сервера снимков в офлайн-режиме (web.offline)
+ *  - запись и воспроизведение трафика через HAR-прокси (web.har.mode)
  *  - корректное завершение браузера после теста
  *
  * Используется как родительский класс
@@ -24,63 +46,156 @@ import ru.mifi.testing.web.config.WebTestConfig;
 public abstract class BaseWebTest {
 
     /**
-     * Экземпляр WebDriver
+     * Общий для всех веб-тестов пул браузерных сессий
+     */
+    private static final WebDriverPool SESSION_POOL = new WebDriverPool(
+            WebDriverFactory::create,
+            WebTestConfig.getSessionMaxUses()
+    );
+
+    /**
+     * Исходный (не обёрнутый слушателем) драйвер теста текущего потока,
+     * который возвращается в пул
      */
-    protected WebDriver driver;
+    private static final ThreadLocal<WebDriver> leasedDrivers = new ThreadLocal<>();
 
     /**
-     * Явные ожидания для работы с элементами
+     * Момент старта веб-сюиты (для замера общего времени прогона)
      */
-    protected WebDriverWait wait;
+    private static long suiteStartNanos;
 
     /**
      * Базовый URL тестируемого сайта
      */
     protected String baseUrl;
 
+    /**
+     * Фиксация времени старта веб-сюиты.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startSuiteTimer() {
+        suiteStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Запуск локального сервера снимков страниц в офлайн-режиме.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startFixtureServer() {
+        if (WebTestConfig.isOffline()) {
+            FixtureServer.start();
+        }
+    }
+
+    /**
+     * Подготовка HAR-архива для записи или воспроизведения трафика.
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startHarProxy() {
+        HarSupport.startSuite();
+    }
+
     /**
      * Инициализация браузера перед каждым тестом.
      */
     @BeforeMethod
-    public void setUp() {
+    public void setUp(Method method) {
 
-        baseUrl = WebTestConfig.getBaseUrl();
-        String browser = WebTestConfig.getBrowser();
+        TestLog.startTest(testName(method), WebTestConfig.getBrowser());
 
-        System.out.println("[INFO] Starting web test");
-        System.out.println("[INFO] Browser: " + browser);
-        System.out.println("[INFO] Base URL: " + baseUrl);
+        baseUrl = WebTestConfig.isOffline()
+                ? FixtureServer.start()
+                : WebTestConfig.getBaseUrl();
 
-        if ("chrome".equalsIgnoreCase(browser)) {
+        TestLog.info("Starting web test");
+        TestLog.info("Base URL: " + baseUrl);
 
-            WebDriverManager.safaridriver().setup();
-            driver = new SafariDriver();
+        CommandMetrics.startTest(testName(method));
 
-            System.out.println("[INFO] ChromeDriver initialized");
+        WebDriver leased = WebTestConfig.isSessionPoolEnabled()
+                ? SESSION_POOL.lease()
+                : WebDriverFactory.create();
+        leasedDrivers.set(leased);
 
-        } else {
-            throw new IllegalArgumentException(
-                    "Неподдерживаемый браузер: " + browser
-            );
-        }
+        WebDriver driver = CommandTimingListener.instrument(leased, new NavigationListener(leased));
 
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, WebTestConfig.getTimeout());
+        WebDriverRegistry.register(driver, new AdaptiveWait(driver, WebTestConfig.getTimeout()));
+        HarSupport.startTest(leased, testName(method));
 
-        System.out.println("[INFO] Browser window maximized");
-        System.out.println("[INFO] WebDriverWait timeout: "
+        TestLog.info("Explicit wait timeout: "
                 + WebTestConfig.getTimeout().toSeconds() + " seconds");
+
+        TestDeadline.start(WebTestConfig.getTestDeadline());
     }
 
     /**
      * Завершение работы браузера после теста.
      */
     @AfterMethod(alwaysRun = true)
-    public void tearDown() {
+    public void tearDown(Method method) {
+
+        TestDeadline.clear();
+        HarSupport.finishTest(testName(method));
+        CommandMetrics.finishTest();
+
+        WebDriverRegistry.unregister();
+        WebDriver driver = leasedDrivers.get();
+        leasedDrivers.remove();
 
         if (driver != null) {
-            System.out.println("[INFO] Closing browser");
-            driver.quit();
+            if (WebTestConfig.isSessionPoolEnabled()) {
+                TestLog.info("Returning browser to pool");
+                SESSION_POOL.release(driver);
+            } else {
+                TestLog.info("Closing browser");
+                SessionCache.forget(driver);
+                driver.quit();
+            }
         }
+
+        TestLog.finishTest();
+    }
+
+    /**
+     * @return WebDriver текущего теста
+     */
+    protected WebDriver getDriver() {
+        return WebDriverRegistry.getDriver();
+    }
+
+    /**
+     * @return явные ожидания текущего теста
+     */
+    protected WebDriverWait getWait() {
+        return WebDriverRegistry.getWait();
+    }
+
+    /**
+     * Закрытие сессий пула и вывод общего времени веб-сюиты.
+     *
+     * Для сравнения "до/после" достаточно выполнить прогон
+     * с -Dpool.enabled=false и с включённым пулом.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutDownSessionPool(ITestContext context) {
+
+        SESSION_POOL.shutdown();
+        FixtureServer.stop();
+        HarSupport.finishSuite();
+
+        if (suiteStartNanos != 0) {
+            TestLog.info("Web suite wall-clock: %.1f s (session pool: %s)",
+                    (System.nanoTime() - suiteStartNanos) / 1e9,
+                    WebTestConfig.isSessionPoolEnabled() ? "on" : "off");
+        }
+
+        SuiteReports.publish(context.getSuite());
+    }
+
+    /**
+     * Имя теста для отчётов: Класс.метод
+     */
+    private static String testName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
     }
 }
@@ -1,8 +1,13 @@
 package ru.mifi.testing.web.config;
 
+import ru.mifi.testing.common.log.TestLog;
+
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Конфигурация веб-автотестов.
@@ -12,8 +17,12 @@ import java.util.Properties;
  *
  * Используется для:
  *  - получения base URL тестируемого сайта
- *  - выбора браузера
+ *  - выбора браузера и режима его запуска (headless, размер окна)
  *  - настройки таймаутов ожиданий
+ *  - настройки пула браузерных сессий
+ *
+ * Любой параметр можно переопределить системным свойством
+ * с тем же именем (например, -Dbrowser=chrome).
  *
  * Данный класс:
  *  - неизменяемый (final)
@@ -41,7 +50,7 @@ public final class WebTestConfig {
             }
 
             properties.load(input);
-            System.out.println("[INFO] web-test.properties успешно загружен");
+            TestLog.info("web-test.properties успешно загружен");
 
         } catch (Exception e) {
             throw new RuntimeException("Ошибка загрузки web-test.properties", e);
@@ -61,7 +70,63 @@ public final class WebTestConfig {
      * @return base URL (например, https://yandex.ru/pogoda)
      */
     public static String getBaseUrl() {
-        return properties.getProperty("base.url");
+        return get("base.url", null);
+    }
+
+    /**
+     * Офлайн-режим веб-тестов.
+     *
+     * В офлайн-режиме тесты работают с локальным сервером,
+     * отдающим синтетические страницы (см. FixtureServer), а base.url
+     * подменяется на его адрес.
+     *
+     * @return true — если тесты запускаются без сети
+     */
+    public static boolean isOffline() {
+        return Boolean.parseBoolean(get("web.offline", "false"));
+    }
+
+    /**
+     * Режим HAR-прокси.
+     *
+     * Поддерживаемые значения:
+     *  - off    — прокси отключён (по умолчанию)
+     *  - record — запись трафика в архив
+     *  - replay — воспроизведение трафика из архива
+     *
+     * @return режим прокси
+     */
+    public static String getHarMode() {
+        return get("web.har.mode", "off");
+    }
+
+    /**
+     * @return путь к HAR-архиву
+     */
+    public static String getHarFile() {
+        return get("web.har.file", "target/har/yandex-pogoda.har.json");
+    }
+
+    /**
+     * Задержка ответов при воспроизведении.
+     *
+     * @return true — исходная записанная задержка, false — нулевая
+     */
+    public static boolean isHarOriginalLatency() {
+        return !"zero".equalsIgnoreCase(get("web.har.latency", "original"));
+    }
+
+    /**
+     * Параметры запроса, которые не учитываются при поиске ответа в HAR-архиве
+     * (cache-buster, метки времени): значения меняются от прогона к прогону.
+     *
+     * @return имена параметров
+     */
+    public static Set<String> getHarIgnoredParams() {
+        return Arrays.stream(get("web.har.ignoredParams", "_,t,ts,timestamp,rnd,random,cb,nocache").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -71,13 +136,58 @@ public final class WebTestConfig {
      *  - chrome
      *  - firefox
      *  - edge
+     *  - safari (без поддержки headless, одна сессия за раз)
      *
-     * По умолчанию: safari
+     * По умолчанию: chrome
      *
      * @return имя браузера
      */
     public static String getBrowser() {
-        return properties.getProperty("browser", "safari");
+        return get("browser", "chrome");
+    }
+
+    /**
+     * Запуск браузера без интерфейса.
+     *
+     * Поддерживается для chrome, firefox и edge;
+     * требуется для запуска на Linux CI-агентах без дисплея.
+     *
+     * @return true — если браузер запускается в headless-режиме
+     */
+    public static boolean isHeadless() {
+        return Boolean.parseBoolean(get("browser.headless", "false"));
+    }
+
+    /**
+     * Ширина окна браузера в headless-режиме.
+     *
+     * @return ширина в пикселях
+     */
+    public static int getWindowWidth() {
+        return Integer.parseInt(get("browser.window.width", "1920"));
+    }
+
+    /**
+     * Высота окна браузера в headless-режиме.
+     *
+     * @return высота в пикселях
+     */
+    public static int getWindowHeight() {
+        return Integer.parseInt(get("browser.window.height", "1080"));
+    }
+
+    /**
+     * Стратегия загрузки страницы.
+     *
+     * Поддерживаемые значения:
+     *  - normal — ожидание полной загрузки (по умолчанию)
+     *  - eager  — ожидание только DOMContentLoaded
+     *  - none   — без ожидания
+     *
+     * @return стратегия загрузки страницы
+     */
+    public static String getPageLoadStrategy() {
+        return get("browser.pageLoadStrategy", "normal");
     }
 
     /**
@@ -90,9 +200,7 @@ public final class WebTestConfig {
      * @return таймаут в секундах
      */
     public static int getTimeoutSeconds() {
-        return Integer.parseInt(
-                properties.getProperty("timeout.seconds", "10")
-        );
+        return Integer.parseInt(get("timeout.seconds", "10"));
     }
 
     /**
@@ -105,4 +213,66 @@ public final class WebTestConfig {
     public static Duration getTimeout() {
         return Duration.ofSeconds(getTimeoutSeconds());
     }
+
+    /**
+     * Короткий таймаут для быстрых проверок на уже загруженной странице
+     * (подсказки поиска, меню, пакетная проверка видимости).
+     *
+     * @return короткий таймаут в формате Duration
+     */
+    public static Duration getShortTimeout() {
+        return Duration.ofSeconds(Integer.parseInt(get("timeout.short.seconds", "5")));
+    }
+
+    /**
+     * Общий бюджет времени одного теста: ни одно ожидание
+     * не продлится дольше его остатка. 0 — без ограничения.
+     *
+     * @return бюджет теста в формате Duration
+     */
+    public static Duration getTestDeadline() {
+        return Duration.ofSeconds(Integer.parseInt(get("timeout.test.seconds", "60")));
+    }
+
+    /**
+     * Признак переиспользования браузерных сессий между тестами.
+     *
+     * Если выключен, каждый тест запускает и закрывает
+     * собственный браузер (исходное поведение).
+     *
+     * @return true — если сессии берутся из пула
+     */
+    public static boolean isSessionPoolEnabled() {
+        return Boolean.parseBoolean(get("pool.enabled", "true"));
+    }
+
+    /**
+     * Максимальное число тестов, обслуживаемых одной сессией.
+     *
+     * После исчерпания лимита сессия закрывается
+     * и при следующем запросе создаётся новая.
+     *
+     * @return лимит использований одной сессии
+     */
+    public static int getSessionMaxUses() {
+        return Integer.parseInt(get("pool.session.maxUses", "20"));
+    }
+
+    /**
+     * Число браузерных слотов web-линии при совместном запуске
+     * с mobile-тестами (testng-lanes.xml).
+     *
+     * @return число одновременно открытых браузеров
+     */
+    public static int getThreadCount() {
+        return Integer.parseInt(get("web.threads", "4"));
+    }
+
+    /**
+     * Значение параметра с учётом переопределения
+     * через системные свойства JVM.
+     */
+    private static String get(String key, String defaultValue) {
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
+    }
 }
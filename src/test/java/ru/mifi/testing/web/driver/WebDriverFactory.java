@@ -0,0 +1,178 @@
+package ru.mifi.testing.web.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.safari.SafariDriver;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.web.config.WebTestConfig;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Фабрика браузерных сессий.
+ *
+ * Поддерживаемые браузеры (параметр browser):
+ *  - chrome  — Chrome, в том числе headless
+ *  - firefox — Firefox, в том числе headless
+ *  - edge    — Microsoft Edge, в том числе headless
+ *  - safari  — Safari (только с интерфейсом, одна сессия за раз)
+ *
+ * Для Chromium-браузеров и Firefox применяется набор опций,
+ * отключающих фоновые службы, расширения, уведомления и first-run,
+ * которые не нужны автотестам и замедляют запуск браузера.
+ * В headless-режиме размер окна задаётся явно (browser.window.width / browser.window.height),
+ * иначе окно разворачивается на весь экран.
+ */
+public final class WebDriverFactory {
+
+    /**
+     * Общие для Chrome и Edge аргументы командной строки
+     */
+    private static final String[] CHROMIUM_PERFORMANCE_ARGS = {
+            "--disable-extensions",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-renderer-backgrounding",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--disable-notifications",
+            "--disable-dev-shm-usage",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--mute-audio"
+    };
+
+    /**
+     * Настройки профиля Firefox с тем же назначением
+     */
+    private static final Map<String, Object> FIREFOX_PERFORMANCE_PREFS = Map.of(
+            "app.update.auto", false,
+            "browser.shell.checkDefaultBrowser", false,
+            "browser.startup.homepage_override.mstone", "ignore",
+            "datareporting.policy.dataSubmissionEnabled", false,
+            "toolkit.telemetry.enabled", false,
+            "dom.webnotifications.enabled", false,
+            "media.autoplay.default", 5
+    );
+
+    /**
+     * Браузеры, для которых драйвер уже подготовлен WebDriverManager
+     */
+    private static final Set<String> preparedBrowsers = new HashSet<>();
+
+    private WebDriverFactory() {
+    }
+
+    /**
+     * Создаёт новую браузерную сессию по текущей конфигурации.
+     */
+    public static WebDriver create() {
+        return create(WebTestConfig.getBrowser());
+    }
+
+    /**
+     * Создаёт новую сессию указанного браузера.
+     *
+     * @param browser chrome | firefox | edge | safari
+     */
+    public static WebDriver create(String browser) {
+
+        String name = browser.trim().toLowerCase();
+        boolean headless = WebTestConfig.isHeadless();
+
+        TestLog.info("Browser: " + name + (headless ? " (headless)" : ""));
+
+        WebDriver driver = switch (name) {
+            case "chrome" -> {
+                prepare(name, WebDriverManager.chromedriver());
+                yield new ChromeDriver(chromiumOptions(new ChromeOptions(), headless));
+            }
+            case "edge" -> {
+                prepare(name, WebDriverManager.edgedriver());
+                yield new EdgeDriver(chromiumOptions(new EdgeOptions(), headless));
+            }
+            case "firefox" -> {
+                prepare(name, WebDriverManager.firefoxdriver());
+                yield new FirefoxDriver(firefoxOptions(headless));
+            }
+            case "safari" -> {
+                if (headless) {
+                    TestLog.warn("Safari does not support headless mode, starting with UI");
+                }
+                prepare(name, WebDriverManager.safaridriver());
+                yield new SafariDriver();
+            }
+            default -> throw new IllegalArgumentException(
+                    "Неподдерживаемый браузер: " + browser
+            );
+        };
+
+        if (!headless) {
+            driver.manage().window().maximize();
+            TestLog.info("Browser window maximized");
+        }
+
+        return driver;
+    }
+
+    /* ===================== Options ===================== */
+
+    private static <T extends ChromiumOptions<T>> T chromiumOptions(T options, boolean headless) {
+
+        options.addArguments(CHROMIUM_PERFORMANCE_ARGS);
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        if (headless) {
+            options.addArguments(
+                    "--headless=new",
+                    "--disable-gpu",
+                    "--no-sandbox",
+                    "--window-size=" + WebTestConfig.getWindowWidth() + "," + WebTestConfig.getWindowHeight()
+            );
+        }
+
+        return options;
+    }
+
+    private static FirefoxOptions firefoxOptions(boolean headless) {
+
+        FirefoxOptions options = new FirefoxOptions();
+        FIREFOX_PERFORMANCE_PREFS.forEach(options::addPreference);
+        options.setPageLoadStrategy(pageLoadStrategy());
+
+        if (headless) {
+            options.addArguments(
+                    "-headless",
+                    "--width=" + WebTestConfig.getWindowWidth(),
+                    "--height=" + WebTestConfig.getWindowHeight()
+            );
+        }
+
+        return options;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        return PageLoadStrategy.fromString(WebTestConfig.getPageLoadStrategy());
+    }
+
+    /**
+     * Однократная подготовка драйвера браузера через WebDriverManager.
+     */
+    private static synchronized void prepare(String browser, WebDriverManager manager) {
+        if (!preparedBrowsers.contains(browser)) {
+            manager.setup();
+            // только после успешной подготовки: при ошибке следующий вызов повторит её
+            preparedBrowsers.add(browser);
+        }
+    }
+}
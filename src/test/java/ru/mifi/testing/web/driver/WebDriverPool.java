@@ -0,0 +1,261 @@
+package ru.mifi.testing.web.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import ru.mifi.testing.common.cache.SessionCache;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Пул переиспользуемых браузерных сессий.
+ *
+ * Вместо запуска нового браузера на каждый тест сессия
+ * выдаётся тесту во временное пользование и после теста
+ * возвращается в пул с дешёвым сбросом состояния:
+ *  - закрываются лишние вкладки
+ *  - удаляются cookies: в Chrome/Edge все (CDP Network.clearBrowserCookies),
+ *    в остальных браузерах — только домена текущей страницы
+ *  - очищаются хранилища origin, на котором закончился тест: в Chrome/Edge
+ *    все виды (CDP Storage.clearDataForOrigin — в том числе IndexedDB,
+ *    Cache Storage, service workers), в остальных — localStorage / sessionStorage
+ *  - открывается пустая страница about:blank
+ *
+ * Ограничение: хранилища других origin, которые тест посетил, но на которых
+ * не закончился (например, сторонние iframe), а в Firefox/Safari ещё и cookies
+ * других доменов, переходят к следующему тесту этой сессии. Тестам, которым нужен
+ * полностью чистый профиль, следует запускаться с {@code pool.enabled=false}.
+ *
+ * Сессия закрывается и заменяется новой, если:
+ *  - она обслужила максимальное число тестов
+ *  - браузер перестал отвечать
+ *  - сброс состояния завершился ошибкой
+ *
+ * Класс потокобезопасен: каждый поток получает собственную сессию.
+ */
+public class WebDriverPool {
+
+    /**
+     * Скрипт очистки хранилищ текущего origin.
+     * Для about:blank обращение к storage бросает SecurityError — это допустимо.
+     */
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxUses;
+
+    /** Свободные сессии, готовые к выдаче */
+    private final Deque<WebDriver> idle = new ConcurrentLinkedDeque<>();
+
+    /** Число использований каждой живой сессии */
+    private final Map<WebDriver, AtomicInteger> uses = new IdentityHashMap<>();
+
+    /* ===================== Statistics ===================== */
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final AtomicLong creationNanos = new AtomicLong();
+    private final AtomicLong resetNanos = new AtomicLong();
+
+    /**
+     * @param driverFactory способ создания новой сессии
+     * @param maxUses       сколько тестов может обслужить одна сессия
+     */
+    public WebDriverPool(Supplier<WebDriver> driverFactory, int maxUses) {
+        this.driverFactory = driverFactory;
+        this.maxUses = Math.max(1, maxUses);
+    }
+
+    /**
+     * Выдаёт сессию для теста: свободную живую из пула
+     * или новую, если свободных нет.
+     */
+    public WebDriver lease() {
+
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (isAlive(driver)) {
+                reused.incrementAndGet();
+                usesOf(driver).incrementAndGet();
+                TestLog.info("Reusing pooled browser session");
+                return driver;
+            }
+            TestLog.warn("Pooled browser session is not responding, recycling");
+            discard(driver);
+        }
+
+        long start = System.nanoTime();
+        driver = driverFactory.get();
+        creationNanos.addAndGet(System.nanoTime() - start);
+        created.incrementAndGet();
+
+        synchronized (uses) {
+            uses.put(driver, new AtomicInteger(1));
+        }
+
+        TestLog.info("New browser session created for pool");
+        return driver;
+    }
+
+    /**
+     * Возвращает сессию в пул после теста.
+     * Изношенные и сломанные сессии закрываются.
+     */
+    public void release(WebDriver driver) {
+
+        if (driver == null) {
+            return;
+        }
+
+        if (usesOf(driver).get() >= maxUses) {
+            TestLog.info("Browser session reached "
+                    + maxUses + " uses, recycling");
+            discard(driver);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            resetState(driver);
+        } catch (Exception e) {
+            TestLog.warn("Failed to reset browser session, recycling: "
+                    + e.getMessage());
+            discard(driver);
+            return;
+        } finally {
+            resetNanos.addAndGet(System.nanoTime() - start);
+        }
+
+        // после сброса сессия на about:blank, найденные элементы устарели
+        SessionCache.navigated(driver);
+        idle.offerFirst(driver);
+    }
+
+    /**
+     * Закрывает все свободные сессии и печатает статистику пула.
+     * Безопасен для повторного вызова.
+     */
+    public void shutdown() {
+
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            close(driver);
+        }
+
+        printStatistics();
+    }
+
+    /* ===================== Internals ===================== */
+
+    private void resetState(WebDriver driver) {
+
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        if (handles.size() > 1) {
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(handles.get(0));
+
+        if (driver instanceof HasCdp) {
+            clearViaCdp((HasCdp) driver, originOf(driver.getCurrentUrl()));
+        } else {
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            driver.manage().deleteAllCookies();
+        }
+
+        driver.get("about:blank");
+    }
+
+    /**
+     * Сброс Chromium-браузера: cookies всех доменов и все хранилища текущего origin.
+     */
+    private void clearViaCdp(HasCdp cdp, String origin) {
+
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+
+        if (origin != null) {
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                    "origin", origin,
+                    "storageTypes", "all"
+            ));
+        }
+    }
+
+    /**
+     * @return origin страницы (scheme://host[:port]) или null для about:blank и data:
+     */
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getHost()
+                    + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        recycled.incrementAndGet();
+        close(driver);
+    }
+
+    private void close(WebDriver driver) {
+
+        synchronized (uses) {
+            uses.remove(driver);
+        }
+
+        SessionCache.forget(driver);
+
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            TestLog.warn("Failed to quit browser session: " + e.getMessage());
+        }
+    }
+
+    private AtomicInteger usesOf(WebDriver driver) {
+        synchronized (uses) {
+            return uses.computeIfAbsent(driver, d -> new AtomicInteger());
+        }
+    }
+
+    private void printStatistics() {
+
+        double creationSeconds = creationNanos.get() / 1e9;
+        double avgCreation = created.get() == 0 ? 0 : creationSeconds / created.get();
+
+        TestLog.info("Browser pool: created=" + created.get()
+                + ", reused=" + reused.get()
+                + ", recycled=" + recycled.get());
+        TestLog.info("Browser pool: startup %.1f s total (%.1f s avg), reset %.1f s total, "
+                        + "~%.1f s of startups avoided",
+                creationSeconds, avgCreation, resetNanos.get() / 1e9, avgCreation * reused.get());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.mifi.testing.web.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Реестр браузерных сессий, привязанных к потоку теста.
+ *
+ * При параллельном запуске TestNG (parallel="methods") несколько
+ * тестов одного класса выполняются одновременно на одном экземпляре,
+ * поэтому драйвер нельзя хранить в полях тест-класса.
+ * Базовый класс регистрирует драйвер перед тестом,
+ * а page objects получают его из реестра текущего потока.
+ */
+public final class WebDriverRegistry {
+
+    private static final ThreadLocal<WebDriver> drivers = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> waits = new ThreadLocal<>();
+
+    private WebDriverRegistry() {
+    }
+
+    /**
+     * Привязывает драйвер и ожидания к текущему потоку.
+     */
+    public static void register(WebDriver driver, WebDriverWait wait) {
+        drivers.set(driver);
+        waits.set(wait);
+    }
+
+    /**
+     * Отвязывает драйвер от текущего потока.
+     *
+     * @return ранее зарегистрированный драйвер или null
+     */
+    public static WebDriver unregister() {
+        WebDriver driver = drivers.get();
+        drivers.remove();
+        waits.remove();
+        return driver;
+    }
+
+    /**
+     * @return драйвер текущего потока
+     * @throws IllegalStateException если драйвер не зарегистрирован
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = drivers.get();
+        if (driver == null) {
+            throw new IllegalStateException(
+                    "WebDriver is not registered for thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    /**
+     * @return ожидания текущего потока
+     * @throws IllegalStateException если драйвер не зарегистрирован
+     */
+    public static WebDriverWait getWait() {
+        WebDriverWait wait = waits.get();
+        if (wait == null) {
+            throw new IllegalStateException(
+                    "WebDriverWait is not registered for thread " + Thread.currentThread().getName());
+        }
+        return wait;
+    }
+}
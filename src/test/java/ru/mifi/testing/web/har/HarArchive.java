@@ -0,0 +1,230 @@
+package ru.mifi.testing.web.har;
+
+import org.openqa.selenium.json.Json;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Архив сетевого трафика в формате, близком к HAR 1.2.
+ *
+ * <p>
+ * Каждая запись хранит запрос (метод + URL), ответ (статус, заголовки,
+ * тело в base64), время ответа и имя теста, во время которого
+ * запрос был записан (поле pageref).
+ * </p>
+ *
+ * <p>
+ * При воспроизведении ответы ищутся по паре "метод + URL".
+ * Параметры запроса из списка игнорируемых (cache-buster, метки времени)
+ * при сравнении URL отбрасываются, остальные параметры и их порядок
+ * должны совпадать. Если один и тот же запрос записан несколько раз,
+ * ответы выдаются по кругу в порядке записи.
+ * </p>
+ */
+public class HarArchive {
+
+    private static final Json JSON = new Json();
+
+    private final List<Map<String, Object>> entries = new ArrayList<>();
+
+    /** Параметры запроса, не учитываемые при поиске ответа */
+    private final Set<String> ignoredParams;
+
+    /** Индекс записей по ключу "METHOD URL" */
+    private final Map<String, List<Map<String, Object>>> index = new ConcurrentHashMap<>();
+
+    /** Позиция следующего ответа для повторяющихся запросов */
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    /**
+     * @param ignoredParams параметры запроса, не учитываемые при поиске ответа
+     */
+    public HarArchive(Set<String> ignoredParams) {
+        this.ignoredParams = Set.copyOf(ignoredParams);
+    }
+
+    /**
+     * Загружает архив из файла.
+     *
+     * @param ignoredParams параметры запроса, не учитываемые при поиске ответа
+     */
+    @SuppressWarnings("unchecked")
+    public static HarArchive load(Path file, Set<String> ignoredParams) {
+
+        HarArchive archive = new HarArchive(ignoredParams);
+
+        try {
+            Map<String, Object> har = JSON.toType(
+                    Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Map<String, Object> log = (Map<String, Object>) har.get("log");
+
+            for (Object entry : (List<Object>) log.get("entries")) {
+                archive.add((Map<String, Object>) entry);
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read HAR archive " + file, e);
+        }
+
+        TestLog.info("HAR archive loaded: " + file
+                + " (" + archive.entries.size() + " entries)");
+        return archive;
+    }
+
+    /**
+     * Добавляет записанный обмен запрос/ответ.
+     */
+    public void record(String testName, String method, String url, int status,
+                       Map<String, String> headers, byte[] body, long startedMillis, long durationMillis) {
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("method", method);
+        request.put("url", url);
+
+        List<Map<String, String>> headerList = new ArrayList<>();
+        headers.forEach((name, value) -> headerList.add(Map.of("name", name, "value", value)));
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("size", body.length);
+        content.put("mimeType", headers.getOrDefault("content-type", ""));
+        content.put("encoding", "base64");
+        content.put("text", Base64.getEncoder().encodeToString(body));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", status);
+        response.put("headers", headerList);
+        response.put("content", content);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("pageref", testName);
+        entry.put("startedDateTime", Instant.ofEpochMilli(startedMillis).toString());
+        entry.put("time", durationMillis);
+        entry.put("request", request);
+        entry.put("response", response);
+        entry.put("timings", Map.of("wait", durationMillis));
+
+        add(entry);
+    }
+
+    /**
+     * Ищет записанный ответ на запрос.
+     *
+     * @return запись архива или null, если запрос не записывался
+     */
+    public Map<String, Object> find(String method, String url) {
+
+        String key = key(method, url);
+        List<Map<String, Object>> candidates = index.get(key);
+
+        if (candidates == null) {
+            return null;
+        }
+
+        int position = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return candidates.get(position % candidates.size());
+    }
+
+    /**
+     * Сохраняет архив в файл.
+     */
+    public void save(Path file) {
+
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "mifi-ui-testing", "version", "1.0"));
+
+        synchronized (entries) {
+            log.put("entries", new ArrayList<>(entries));
+        }
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, JSON.toJson(Map.of("log", log)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write HAR archive " + file, e);
+        }
+
+        TestLog.info("HAR archive saved: " + file
+                + " (" + entries.size() + " entries)");
+    }
+
+    /* ===================== Entry accessors ===================== */
+
+    @SuppressWarnings("unchecked")
+    static int status(Map<String, Object> entry) {
+        return ((Number) ((Map<String, Object>) entry.get("response")).get("status")).intValue();
+    }
+
+    static long time(Map<String, Object> entry) {
+        return ((Number) entry.get("time")).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> headers(Map<String, Object> entry) {
+        return (List<Map<String, Object>>) ((Map<String, Object>) entry.get("response")).get("headers");
+    }
+
+    @SuppressWarnings("unchecked")
+    static byte[] body(Map<String, Object> entry) {
+        Map<String, Object> response = (Map<String, Object>) entry.get("response");
+        Map<String, Object> content = (Map<String, Object>) response.get("content");
+        return Base64.getDecoder().decode((String) content.get("text"));
+    }
+
+    /* ===================== Internals ===================== */
+
+    @SuppressWarnings("unchecked")
+    private void add(Map<String, Object> entry) {
+
+        Map<String, Object> request = (Map<String, Object>) entry.get("request");
+        String key = key((String) request.get("method"), (String) request.get("url"));
+
+        synchronized (entries) {
+            entries.add(entry);
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private String key(String method, String url) {
+        return method.toUpperCase() + " " + normalize(url);
+    }
+
+    /**
+     * Убирает из URL игнорируемые параметры запроса.
+     */
+    private String normalize(String url) {
+
+        int query = url.indexOf('?');
+        if (query < 0 || ignoredParams.isEmpty()) {
+            return url;
+        }
+
+        StringJoiner kept = new StringJoiner("&", "?", "").setEmptyValue("");
+        for (String param : url.substring(query + 1).split("&")) {
+            int eq = param.indexOf('=');
+            String name = eq < 0 ? param : param.substring(0, eq);
+            if (!param.isEmpty() && !ignoredParams.contains(name)) {
+                kept.add(param);
+            }
+        }
+
+        return url.substring(0, query) + kept;
+    }
+}
@@ -0,0 +1,252 @@
+package ru.mifi.testing.web.har;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Прокси записи и воспроизведения трафика браузера.
+ *
+ * <p>
+ * Перехват выполняется внутри браузера через DevTools
+ * ({@link NetworkInterceptor}), поэтому работает и для HTTPS
+ * без подмены сертификатов. Поддерживаются Chromium-браузеры
+ * (chrome, edge); для остальных прокси не подключается.
+ * </p>
+ *
+ * <p>
+ * Режимы:
+ * <ul>
+ *     <li>{@code record} — запросы уходят в сеть, ответы пишутся в {@link HarArchive}</li>
+ *     <li>{@code replay} — ответы берутся из архива с исходной или нулевой задержкой,
+ *     сеть не используется</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Воспроизведение работает напрямую с доменом DevTools {@code Fetch}:
+ * обработчик приостановленного запроса только находит ответ в архиве
+ * и планирует {@code Fetch.fulfillRequest} через записанное время от начала
+ * запроса, не блокируя поток событий DevTools. Поэтому запросы, которые
+ * при записи шли параллельно, и воспроизводятся параллельно.
+ * </p>
+ *
+ * <p>
+ * Прокси подключается на время одного теста и собирает интервалы
+ * сетевых запросов, чтобы отделить время сети от работы браузера.
+ * </p>
+ */
+public class HarProxy implements AutoCloseable {
+
+    /** Заголовки, которые нельзя воспроизводить: тело в архиве уже раскодировано */
+    private static final Set<String> SKIPPED_HEADERS =
+            Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    /** Потоки, отправляющие отложенные ответы при воспроизведении */
+    private static final int REPLAY_THREADS = 4;
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+
+    private final String testName;
+    private final HarArchive archive;
+    private final boolean originalLatency;
+
+    /** Перехватчик режима record (null при воспроизведении) */
+    private final NetworkInterceptor interceptor;
+
+    /** Сессия DevTools и планировщик ответов режима replay (null при записи) */
+    private final DevTools devTools;
+    private final ScheduledExecutorService responder;
+
+    private volatile boolean closed;
+
+    /** Интервалы [start, end] сетевых запросов теста, мс */
+    private final List<long[]> intervals = new ArrayList<>();
+
+    private HarProxy(WebDriver driver, String testName, HarArchive archive,
+                     boolean replay, boolean originalLatency) {
+        this.testName = testName;
+        this.archive = archive;
+        this.originalLatency = originalLatency;
+
+        if (replay) {
+            this.interceptor = null;
+            this.devTools = ((HasDevTools) driver).getDevTools();
+            this.responder = Executors.newScheduledThreadPool(REPLAY_THREADS, runnable -> {
+                Thread thread = new Thread(runnable, "har-replay");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(REQUEST_PAUSED, this::replay);
+            devTools.send(new Command<>("Fetch.enable", Map.of()));
+        } else {
+            this.devTools = null;
+            this.responder = null;
+            this.interceptor = new NetworkInterceptor(driver, (Filter) next -> request -> {
+                long start = System.currentTimeMillis();
+                return record(request, next.execute(request), start);
+            });
+        }
+    }
+
+    /**
+     * Подключает прокси к браузеру на время теста.
+     *
+     * @return прокси или null, если браузер не поддерживает DevTools
+     */
+    public static HarProxy attach(WebDriver driver, String testName, HarArchive archive,
+                                  boolean replay, boolean originalLatency) {
+
+        if (!(driver instanceof HasDevTools)) {
+            TestLog.warn("HAR proxy requires a Chromium browser, traffic is not intercepted");
+            return null;
+        }
+
+        return new HarProxy(driver, testName, archive, replay, originalLatency);
+    }
+
+    /**
+     * @return суммарное время, когда был активен хотя бы один запрос, мс
+     */
+    public long getNetworkMillis() {
+
+        List<long[]> sorted;
+        synchronized (intervals) {
+            sorted = new ArrayList<>(intervals);
+        }
+        sorted.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        long total = 0;
+        long currentStart = -1;
+        long currentEnd = -1;
+
+        for (long[] interval : sorted) {
+            if (interval[0] > currentEnd) {
+                total += currentEnd - currentStart;
+                currentStart = interval[0];
+                currentEnd = interval[1];
+            } else {
+                currentEnd = Math.max(currentEnd, interval[1]);
+            }
+        }
+
+        return total + (currentEnd - currentStart);
+    }
+
+    @Override
+    public void close() {
+
+        closed = true;
+
+        if (interceptor != null) {
+            interceptor.close();
+            return;
+        }
+
+        responder.shutdownNow();
+        try {
+            devTools.send(new Command<>("Fetch.disable", Map.of()));
+        } catch (RuntimeException e) {
+            TestLog.warn("Failed to disable HAR replay: " + e.getMessage());
+        }
+        devTools.clearListeners();
+    }
+
+    /* ===================== Modes ===================== */
+
+    private HttpResponse record(HttpRequest request, HttpResponse response, long start) {
+
+        long end = System.currentTimeMillis();
+
+        byte[] body = Contents.bytes(response.getContent());
+        response.setContent(Contents.bytes(body));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name.toLowerCase(), response.getHeader(name));
+            }
+        }
+
+        archive.record(testName, request.getMethod().name(), request.getUri(),
+                response.getStatus(), headers, body, start, end - start);
+        addInterval(start, end);
+
+        return response;
+    }
+
+    /**
+     * Обработчик приостановленного запроса: планирует ответ из архива
+     * и сразу возвращает управление потоку событий DevTools.
+     */
+    @SuppressWarnings("unchecked")
+    private void replay(Map<String, Object> paused) {
+
+        if (closed) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        String requestId = (String) paused.get("requestId");
+        Map<String, Object> request = (Map<String, Object>) paused.get("request");
+        String method = (String) request.get("method");
+        String url = (String) request.get("url");
+
+        Map<String, Object> entry = archive.find(method, url);
+
+        Map<String, Object> fulfill = new LinkedHashMap<>();
+        fulfill.put("requestId", requestId);
+
+        if (entry == null) {
+            TestLog.warn("HAR replay miss: " + method + " " + url);
+            fulfill.put("responseCode", 404);
+        } else {
+            fulfill.put("responseCode", HarArchive.status(entry));
+            fulfill.put("responseHeaders", HarArchive.headers(entry));
+            fulfill.put("body", Base64.getEncoder().encodeToString(HarArchive.body(entry)));
+        }
+
+        long delay = entry != null && originalLatency ? HarArchive.time(entry) : 0;
+
+        responder.schedule(() -> {
+            try {
+                devTools.send(new Command<>("Fetch.fulfillRequest", fulfill));
+            } catch (RuntimeException e) {
+                // страница могла уйти дальше и отменить запрос
+                if (!closed) {
+                    TestLog.warn("HAR replay failed for " + url + ": " + e.getMessage());
+                }
+            }
+            addInterval(start, System.currentTimeMillis());
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void addInterval(long start, long end) {
+        synchronized (intervals) {
+            intervals.add(new long[]{start, end});
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ru.mifi.testing.web.har;
+
+import org.openqa.selenium.WebDriver;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.web.config.WebTestConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Подключение HAR-прокси к жизненному циклу веб-тестов.
+ *
+ * <p>
+ * Управляется параметром {@code web.har.mode}:
+ * <ul>
+ *     <li>{@code off} — прокси не используется (по умолчанию)</li>
+ *     <li>{@code record} — трафик живого прогона записывается в {@code web.har.file}</li>
+ *     <li>{@code replay} — трафик воспроизводится из {@code web.har.file}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Для каждого теста выводится доля времени, занятая сетью,
+ * а в конце сюиты отчёт пишется рядом с архивом
+ * ({@code *.timing.csv}).
+ * </p>
+ */
+public final class HarSupport {
+
+    private static HarArchive archive;
+
+    private static final ThreadLocal<HarProxy> proxies = new ThreadLocal<>();
+    private static final ThreadLocal<Long> testStarts = new ThreadLocal<>();
+
+    /** Строки отчёта: тест;время теста, мс;время сети, мс */
+    private static final List<String> timings = new ArrayList<>();
+
+    private HarSupport() {
+    }
+
+    /**
+     * Подготовка архива перед сюитой.
+     */
+    public static synchronized void startSuite() {
+
+        String mode = WebTestConfig.getHarMode();
+
+        if ("record".equalsIgnoreCase(mode)) {
+            archive = new HarArchive(WebTestConfig.getHarIgnoredParams());
+            TestLog.info("HAR proxy: recording traffic to " + WebTestConfig.getHarFile());
+        } else if ("replay".equalsIgnoreCase(mode)) {
+            archive = HarArchive.load(Paths.get(WebTestConfig.getHarFile()),
+                    WebTestConfig.getHarIgnoredParams());
+            TestLog.info("HAR proxy: replaying traffic with "
+                    + (WebTestConfig.isHarOriginalLatency() ? "original" : "zero") + " latency");
+        }
+    }
+
+    /**
+     * Подключение прокси к браузеру текущего теста.
+     */
+    public static void startTest(WebDriver driver, String testName) {
+
+        if (archive == null) {
+            return;
+        }
+
+        testStarts.set(System.currentTimeMillis());
+        proxies.set(HarProxy.attach(
+                driver,
+                testName,
+                archive,
+                "replay".equalsIgnoreCase(WebTestConfig.getHarMode()),
+                WebTestConfig.isHarOriginalLatency()
+        ));
+    }
+
+    /**
+     * Отключение прокси и вывод доли сетевого времени теста.
+     */
+    public static void finishTest(String testName) {
+
+        HarProxy proxy = proxies.get();
+        Long start = testStarts.get();
+        proxies.remove();
+        testStarts.remove();
+
+        if (proxy == null || start == null) {
+            return;
+        }
+
+        proxy.close();
+
+        long testMillis = System.currentTimeMillis() - start;
+        long networkMillis = proxy.getNetworkMillis();
+
+        TestLog.info("%s: network %.2f s of %.2f s (browser and test code %.2f s)",
+                testName, networkMillis / 1000.0, testMillis / 1000.0,
+                (testMillis - networkMillis) / 1000.0);
+
+        synchronized (timings) {
+            timings.add(testName + ";" + testMillis + ";" + networkMillis);
+        }
+    }
+
+    /**
+     * Сохранение архива (в режиме записи) и отчёта по времени.
+     */
+    public static synchronized void finishSuite() {
+
+        if (archive == null) {
+            return;
+        }
+
+        Path harFile = Paths.get(WebTestConfig.getHarFile());
+
+        if ("record".equalsIgnoreCase(WebTestConfig.getHarMode())) {
+            archive.save(harFile);
+        }
+
+        Path report = harFile.resolveSibling(harFile.getFileName() + ".timing.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("test;test_ms;network_ms");
+
+        synchronized (timings) {
+            lines.addAll(timings);
+        }
+
+        try {
+            if (report.getParent() != null) {
+                Files.createDirectories(report.getParent());
+            }
+            Files.write(report, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write HAR timing report " + report, e);
+        }
+
+        TestLog.info("HAR timing report saved: " + report);
+        archive = null;
+    }
+}
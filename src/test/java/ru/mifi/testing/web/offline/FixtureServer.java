@@ -0,0 +1,185 @@
+package ru.mifi.testing.web.offline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.mifi.testing.common.log.TestLog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Встроенный HTTP-сервер офлайн-режима веб-тестов.
+ *
+ * Отдаёт синтетические страницы Яндекс.Погоды
+ * из ресурсов {@code fixtures/pogoda}:
+ *  - /pogoda                    → index.html
+ *  - /pogoda/ru/moscow          → ru/moscow.html
+ *  - /pogoda/maps/nowcast       → maps/nowcast.html
+ *  - /pogoda/api/suggest        → api/suggest.json
+ *
+ * Страницы написаны вручную, а не сохранены с живого сайта:
+ * в них есть только те элементы, классы и тексты, с которыми работают
+ * page objects, без скриптов, стилей и рекламы yandex.ru/pogoda.
+ * Поэтому офлайн-прогон проверяет логику тестов и page objects,
+ * но не совместимость с текущей вёрсткой сайта, а замеры на этих
+ * страницах (бенчмарки) не переносятся на живой сайт.
+ * При изменении локаторов страницы нужно обновить вручную.
+ *
+ * Сервер слушает случайный свободный порт на 127.0.0.1,
+ * поэтому тесты работают без сети и не зависят
+ * от задержек и сторонних скриптов живого сайта.
+ */
+public final class FixtureServer {
+
+    /** Путь, под которым сайт доступен на живом домене */
+    private static final String CONTEXT_PATH = "/pogoda";
+
+    /** Каталог снимков в ресурсах */
+    private static final String FIXTURES_ROOT = "fixtures/pogoda/";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "json", "application/json; charset=utf-8",
+            "css", "text/css; charset=utf-8",
+            "js", "application/javascript; charset=utf-8",
+            "svg", "image/svg+xml",
+            "png", "image/png"
+    );
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+
+    private FixtureServer() {
+    }
+
+    /**
+     * Запускает сервер, если он ещё не запущен.
+     *
+     * @return base URL офлайн-сайта (аналог https://yandex.ru/pogoda)
+     */
+    public static synchronized String start() {
+
+        if (server == null) {
+            try {
+                server = HttpServer.create(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to start fixture server", e);
+            }
+
+            executor = Executors.newCachedThreadPool();
+            server.setExecutor(executor);
+            server.createContext(CONTEXT_PATH, FixtureServer::handle);
+            server.start();
+
+            TestLog.info("Fixture server started: " + getBaseUrl());
+        }
+
+        return getBaseUrl();
+    }
+
+    /**
+     * Останавливает сервер.
+     */
+    public static synchronized void stop() {
+
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+            TestLog.info("Fixture server stopped");
+        }
+    }
+
+    /**
+     * @return base URL офлайн-сайта
+     */
+    public static synchronized String getBaseUrl() {
+
+        if (server == null) {
+            throw new IllegalStateException("Fixture server is not running");
+        }
+
+        return "http://127.0.0.1:" + server.getAddress().getPort() + CONTEXT_PATH;
+    }
+
+    /* ===================== Request handling ===================== */
+
+    private static void handle(HttpExchange exchange) throws IOException {
+
+        try (exchange) {
+            String resource = resolve(exchange.getRequestURI().getPath());
+            byte[] body = resource == null ? null : read(resource);
+
+            if (body == null) {
+                byte[] notFound = "Not found".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                exchange.sendResponseHeaders(404, notFound.length);
+                exchange.getResponseBody().write(notFound);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", contentType(resource));
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Сопоставляет путь запроса файлу снимка.
+     *
+     * @return путь ресурса или null, если снимка нет
+     */
+    private static String resolve(String path) {
+
+        String relative = path.substring(CONTEXT_PATH.length()).replaceAll("^/+|/+$", "");
+
+        if (relative.contains("..")) {
+            return null;
+        }
+
+        if (relative.isEmpty()) {
+            return FIXTURES_ROOT + "index.html";
+        }
+
+        String html = FIXTURES_ROOT + relative + ".html";
+        if (exists(html)) {
+            return html;
+        }
+
+        String asIs = FIXTURES_ROOT + relative;
+        if (relative.contains(".") && exists(asIs)) {
+            return asIs;
+        }
+
+        String json = FIXTURES_ROOT + relative + ".json";
+        return exists(json) ? json : null;
+    }
+
+    private static boolean exists(String resource) {
+        return FixtureServer.class.getClassLoader().getResource(resource) != null;
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream is = FixtureServer.class.getClassLoader().getResourceAsStream(resource)) {
+            return is == null ? null : is.readAllBytes();
+        }
+    }
+
+    private static String contentType(String resource) {
+        String extension = resource.substring(resource.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+}
@@ -2,10 +2,20 @@ package ru.mifi.testing.web.pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import ru.mifi.testing.common.cache.SessionCache;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.common.wait.AdaptiveWait;
+import ru.mifi.testing.web.config.WebTestConfig;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
+import ru.mifi.testing.web.driver.WebDriverRegistry;
 
 
 /**
@@ -15,15 +25,64 @@ import org.openqa.selenium.WebElement;
  *  - работу с поиском города
  *  - навигацию по меню
  *  - проверки основных UI-элементов страницы
+ *    (по одному или пакетно за один вызов скрипта)
+ *
+ * Элементы одиночных проверок берутся из {@link SessionCache}:
+ * повторная проверка того же элемента на той же странице
+ * не ищет его заново.
  *
  * Используется в веб-автотестах проекта.
  */
 public class WeatherMainPage {
 
+    /**
+     * Основные UI-элементы страницы для пакетной проверки видимости
+     */
+    public enum UiElement {
+        SEARCH_INPUT,
+        CURRENT_CITY,
+        HEADER_NAVIGATION_MENU,
+        CURRENT_WEATHER_BLOCK,
+        FOOTER,
+        FOOTER_SEO_TEXT,
+        FOOTER_COPYRIGHT
+    }
+
+    /**
+     * Скрипт пакетной проверки видимости.
+     * Принимает список пар [стратегия, значение] и возвращает список boolean.
+     */
+    private static final String VISIBILITY_SCRIPT =
+            "function isVisible(el) {"
+                    + "  var style = window.getComputedStyle(el);"
+                    + "  return style.display !== 'none' && style.visibility !== 'hidden'"
+                    + "      && style.opacity !== '0' && el.getClientRects().length > 0;"
+                    + "}"
+                    + "function find(using, value) {"
+                    + "  try {"
+                    + "    if (using === 'xpath') {"
+                    + "      return document.evaluate(value, document, null,"
+                    + "          XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                    + "    }"
+                    + "    return document.querySelector(value);"
+                    + "  } catch (e) { return null; }"
+                    + "}"
+                    + "return arguments[0].map(function (locator) {"
+                    + "  var el = find(locator[0], locator[1]);"
+                    + "  return !!el && isVisible(el);"
+                    + "});";
+
     private final WebDriver driver;
 
     /* ===================== Constructor ===================== */
 
+    /**
+     * Page object для драйвера текущего потока теста.
+     */
+    public WeatherMainPage() {
+        this(WebDriverRegistry.getDriver());
+    }
+
     public WeatherMainPage(WebDriver driver) {
         this.driver = driver;
     }
@@ -87,7 +146,7 @@ public class WeatherMainPage {
      * Используется в базовом сценарии и при переходах.
      */
     public void openPage(String url) {
-        System.out.println("[INFO] Opening page: " + url);
+        TestLog.info("Opening page: " + url);
         driver.get(url);
     }
 
@@ -98,7 +157,7 @@ public class WeatherMainPage {
      * через получение href из меню.
      */
     public void openPrecipitationMap() {
-        System.out.println("[INFO] Opening precipitation map via href");
+        TestLog.info("Opening precipitation map via href");
 
         WebElement menuItem = driver.findElement(precipitationMapMenuItem);
         String href = menuItem.getAttribute("href");
@@ -117,7 +176,7 @@ public class WeatherMainPage {
      * через JS-клик (на случай нестабильного DOM).
      */
     public void openPrecipitationMapViaJsClick() {
-        System.out.println("[INFO] Opening precipitation map via JS click");
+        TestLog.info("Opening precipitation map via JS click");
 
         WebElement menuItem = driver.findElement(precipitationMapMenuItem);
         ((JavascriptExecutor) driver)
@@ -139,7 +198,7 @@ public class WeatherMainPage {
      */
     public void searchCity(String cityName) {
 
-        System.out.println("[INFO] Searching city: " + cityName);
+        TestLog.info("Searching city: " + cityName);
 
         // 1. Клик по placeholder (реальный пользовательский клик)
         driver.findElement(searchPlaceholderContainer).click();
@@ -148,31 +207,84 @@ public class WeatherMainPage {
         input.sendKeys(cityName);
 
         // 2. Ждём появления подсказок
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-        WebElement suggestion = wait.until(
+        WebElement suggestion = new AdaptiveWait(driver, WebTestConfig.getShortTimeout()).until(
                 ExpectedConditions.elementToBeClickable(firstSuggestion)
         );
 
         // 3. Кликаем по первой подсказке
         suggestion.click();
 
-        System.out.println("[INFO] City selected from suggestions");
+        TestLog.info("City selected from suggestions");
     }
 
     /* ===================== UI Checks ===================== */
 
+    /**
+     * Пакетная проверка видимости элементов.
+     *
+     * Все локаторы проверяются одним вызовом executeScript,
+     * вместо пары findElement + isDisplayed на каждый элемент.
+     * Отсутствующий элемент считается невидимым.
+     *
+     * @param elements проверяемые элементы
+     * @return видимость каждого элемента
+     */
+    public Map<UiElement, Boolean> getVisibility(UiElement... elements) {
+
+        List<List<Object>> locators = new ArrayList<>();
+        for (UiElement element : elements) {
+            By.Remotable.Parameters parameters =
+                    ((By.Remotable) locatorOf(element)).getRemoteParameters();
+            locators.add(List.of(parameters.using(), parameters.value()));
+        }
+
+        List<?> visible = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(VISIBILITY_SCRIPT, locators);
+
+        Map<UiElement, Boolean> result = new EnumMap<>(UiElement.class);
+        for (int i = 0; i < elements.length; i++) {
+            result.put(elements[i], Boolean.TRUE.equals(visible.get(i)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Ожидание видимости группы элементов.
+     *
+     * На каждой итерации выполняется одна пакетная проверка;
+     * ожидание завершается, когда видны все элементы или истёк таймаут.
+     *
+     * @return видимость элементов на момент завершения ожидания
+     */
+    public Map<UiElement, Boolean> waitForVisibility(Duration timeout, UiElement... elements) {
+
+        AtomicReference<Map<UiElement, Boolean>> last = new AtomicReference<>();
+
+        try {
+            String label = "batch visibility of " + Arrays.toString(elements);
+            new AdaptiveWait(driver, timeout).until(label, d -> {
+                last.set(getVisibility(elements));
+                return !last.get().containsValue(false);
+            });
+        } catch (TimeoutException e) {
+            TestLog.warn("Not all UI elements became visible: " + last.get());
+        }
+
+        return last.get() != null ? last.get() : getVisibility(elements);
+    }
+
     /**
      * Проверка отображения навигационного меню
      */
     public boolean isHeaderNavigationMenuDisplayed() {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-            WebElement menu = wait.until(
+            WebElement menu = new AdaptiveWait(driver, WebTestConfig.getShortTimeout()).until(
                     ExpectedConditions.visibilityOfElementLocated(headerNavigationMenu)
             );
             return menu.isDisplayed();
         } catch (TimeoutException e) {
-            System.out.println("[WARN] Header navigation menu not displayed");
+            TestLog.warn("Header navigation menu not displayed");
             return false;
         }
     }
@@ -181,44 +293,61 @@ public class WeatherMainPage {
      * Проверка отображения строки поиска города
      */
     public boolean isSearchInputDisplayed() {
-        return driver.findElement(searchInput).isDisplayed();
+        return SessionCache.element(driver, searchInput).isDisplayed();
     }
 
     /**
      * Проверка отображения текущего города (placeholder в поиске)
      */
     public boolean isCurrentCityDisplayed() {
-        return driver.findElement(currentCityPlaceholder).isDisplayed();
+        return SessionCache.element(driver, currentCityPlaceholder).isDisplayed();
     }
 
     /**
      * Проверка отображения основного блока температуры
      */
     public boolean isCurrentWeatherBlockDisplayed() {
-        return driver.findElement(currentWeatherBlock).isDisplayed();
+        return SessionCache.element(driver, currentWeatherBlock).isDisplayed();
     }
 
     /**
      * Проверка отображения футтера
      */
     public boolean isFooterDisplayed() {
-        return driver.findElement(footer).isDisplayed();
+        return SessionCache.element(driver, footer).isDisplayed();
     }
 
     /**
      * Проверка отображения SEO-блока в футтере
      */
     public boolean isFooterSeoTextDisplayed() {
-        return driver.findElement(footerSeoText).isDisplayed();
+        return SessionCache.element(driver, footerSeoText).isDisplayed();
     }
 
     /**
      * Проверка отображения копирайта ЯНДЕКС в футтере
      */
     public boolean isFooterCopyrightDisplayed() {
-        return driver.findElement(footerCopyright).isDisplayed();
+        return SessionCache.element(driver, footerCopyright).isDisplayed();
     }
 
+    /**
+     * Локатор UI-элемента страницы
+     *
+     * @param element элемент
+     * @return локатор, которым элемент ищется на странице
+     */
+    public By locatorOf(UiElement element) {
+        return switch (element) {
+            case SEARCH_INPUT -> searchInput;
+            case CURRENT_CITY -> currentCityPlaceholder;
+            case HEADER_NAVIGATION_MENU -> headerNavigationMenu;
+            case CURRENT_WEATHER_BLOCK -> currentWeatherBlock;
+            case FOOTER -> footer;
+            case FOOTER_SEO_TEXT -> footerSeoText;
+            case FOOTER_COPYRIGHT -> footerCopyright;
+        };
+    }
 
     /* ===================== Getters ===================== */
 
@@ -241,7 +370,7 @@ public class WeatherMainPage {
      * отображаемого в строке поиска
      */
     public String getCurrentCity() {
-        return driver.findElement(currentCityPlaceholder)
+        return SessionCache.element(driver, currentCityPlaceholder)
                 .getText()
                 .trim();
     }
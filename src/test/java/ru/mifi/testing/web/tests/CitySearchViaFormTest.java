@@ -2,6 +2,7 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
 import ru.mifi.testing.web.pages.WeatherMainPage;
 
@@ -14,47 +15,45 @@ import ru.mifi.testing.web.pages.WeatherMainPage;
  *  - проверить, что после поиска открывается корректная страница города
  *
  * ВАЖНО:
- * Тест намеренно отключён (enabled = false), так как
  * SPA-механизм suggest на стороне Яндекс.Погоды
  * работает нестабильно для автотестов (динамический DOM,
  * перерисовка элементов, нестабильные классы).
- *
- * Сценарий сохранён в проекте:
- *  - как пример пользовательского поведения
- *  - как заготовка для будущей стабилизации
+ * Случайное падение повторяется на той же браузерной сессии
+ * ({@link ru.mifi.testing.common.retry.RetryAnalyzer}),
+ * нестабильность учитывается в .test-history/flakiness.properties.
  */
 public class CitySearchViaFormTest extends BaseWebTest {
 
-    @Test(enabled = false)
+    @Test
     public void shouldOpenSaintPetersburgWeatherViaSearch() {
 
-        System.out.println("[INFO] Starting test: CitySearchViaFormTest (DISABLED)");
+        TestLog.info("Starting test: CitySearchViaFormTest");
 
-        WeatherMainPage page = new WeatherMainPage(driver);
+        WeatherMainPage page = new WeatherMainPage();
 
         // 1. Открываем главную страницу Яндекс.Погоды
-        System.out.println("[STEP] Open main weather page");
+        TestLog.step("Open main weather page");
         page.openPage(baseUrl);
 
         // 2. Выполняем поиск города
-        System.out.println("[STEP] Search city: Санкт-Петербург");
+        TestLog.step("Search city: Санкт-Петербург");
         page.searchCity("Санкт-Петербург");
 
         // 3. Проверяем, что URL соответствует странице города
-        System.out.println("[STEP] Verify city page URL");
+        TestLog.step("Verify city page URL");
         Assert.assertTrue(
                 page.getCurrentUrl().contains("/pogoda/ru/saint-petersburg"),
                 "URL не содержит страницу Санкт-Петербурга"
         );
 
         // 4. Проверяем, что отображаемый город корректен
-        System.out.println("[STEP] Verify displayed city name");
+        TestLog.step("Verify displayed city name");
         Assert.assertEquals(
                 page.getCurrentCity(),
                 "Санкт-Петербург",
                 "На странице отображается неверный город"
         );
 
-        System.out.println("[INFO] Test finished successfully");
+        TestLog.info("Test finished successfully");
     }
 }
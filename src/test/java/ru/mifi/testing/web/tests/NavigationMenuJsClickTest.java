@@ -2,6 +2,7 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
 import ru.mifi.testing.web.pages.WeatherMainPage;
 
@@ -14,47 +15,47 @@ import ru.mifi.testing.web.pages.WeatherMainPage;
  *  - сравнить поведение JS-клика и обычного Selenium click()
  *
  * ВАЖНО:
- * Тест намеренно отключён (enabled = false), так как:
+ * Тест может падать случайно, так как:
  *  - Яндекс.Погода является SPA-приложением
  *  - меню может динамически пересоздаваться
  *  - JS-клик может приводить к нестабильным результатам
  *
- * Тест оставлен в проекте:
- *  - в учебных целях
- *  - как reference-подход для сложных DOM-сценариев
+ * Случайное падение повторяется на той же браузерной сессии
+ * ({@link ru.mifi.testing.common.retry.RetryAnalyzer}),
+ * нестабильность учитывается в .test-history/flakiness.properties.
  */
 public class NavigationMenuJsClickTest extends BaseWebTest {
 
-    @Test(enabled = false)
+    @Test
     public void shouldOpenPrecipitationMapViaJsClick() {
 
-        System.out.println("[INFO] Starting test: NavigationMenuJsClickTest (DISABLED)");
+        TestLog.info("Starting test: NavigationMenuJsClickTest");
 
-        WeatherMainPage page = new WeatherMainPage(driver);
+        WeatherMainPage page = new WeatherMainPage();
 
         // 1. Открываем страницу погоды для Москвы
-        System.out.println("[STEP] Open weather page for Moscow");
+        TestLog.step("Open weather page for Moscow");
         page.openPage(baseUrl + "/ru/moscow");
 
         // 2. Переход в «Карту осадков» через JS-клик
-        System.out.println("[STEP] Open precipitation map via JavaScript click");
+        TestLog.step("Open precipitation map via JavaScript click");
         page.openPrecipitationMapViaJsClick();
 
         // 3. Проверка URL
-        System.out.println("[STEP] Verify URL contains precipitation map path");
+        TestLog.step("Verify URL contains precipitation map path");
         Assert.assertTrue(
                 page.getCurrentUrl().contains("/maps/nowcast"),
                 "URL не содержит путь карты осадков"
         );
 
         // 4. Проверка заголовка страницы
-        System.out.println("[STEP] Verify page title");
+        TestLog.step("Verify page title");
         Assert.assertTrue(
                 page.getPageTitle().contains("Карта осадков")
                         || page.getPageTitle().contains("Осадки"),
                 "Заголовок страницы не соответствует карте осадков"
         );
 
-        System.out.println("[INFO] Test finished successfully");
+        TestLog.info("Test finished successfully");
     }
 }
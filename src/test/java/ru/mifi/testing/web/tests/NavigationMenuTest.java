@@ -2,6 +2,7 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
 import ru.mifi.testing.web.pages.WeatherMainPage;
 
@@ -25,33 +26,33 @@ public class NavigationMenuTest extends BaseWebTest {
     @Test
     public void shouldOpenPrecipitationMapFromMenu() {
 
-        System.out.println("[INFO] Starting test: NavigationMenuTest");
+        TestLog.info("Starting test: NavigationMenuTest");
 
-        WeatherMainPage page = new WeatherMainPage(driver);
+        WeatherMainPage page = new WeatherMainPage();
 
         // 1. Открываем страницу погоды для Москвы
-        System.out.println("[STEP] Open weather page for Moscow");
+        TestLog.step("Open weather page for Moscow");
         page.openPage(baseUrl + "/ru/moscow");
 
         // 2. Переходим в раздел «Карта осадков» через меню
-        System.out.println("[STEP] Navigate to precipitation map via menu");
+        TestLog.step("Navigate to precipitation map via menu");
         page.openPrecipitationMap();
 
         // 3. Проверяем URL страницы
-        System.out.println("[CHECK] Verify URL contains precipitation map path");
+        TestLog.check("Verify URL contains precipitation map path");
         Assert.assertTrue(
                 page.getCurrentUrl().contains("/maps/nowcast"),
                 "URL не содержит путь карты осадков"
         );
 
         // 4. Проверяем заголовок страницы
-        System.out.println("[CHECK] Verify page title");
+        TestLog.check("Verify page title");
         Assert.assertTrue(
                 page.getPageTitle().contains("Карта осадков")
                         || page.getPageTitle().contains("Осадки"),
                 "Заголовок страницы не соответствует карте осадков"
         );
 
-        System.out.println("[INFO] NavigationMenuTest finished successfully");
+        TestLog.info("NavigationMenuTest finished successfully");
     }
 }
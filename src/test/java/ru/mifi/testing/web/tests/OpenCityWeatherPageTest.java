@@ -2,6 +2,7 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
 import ru.mifi.testing.web.pages.WeatherMainPage;
 
@@ -25,29 +26,29 @@ public class OpenCityWeatherPageTest extends BaseWebTest {
     @Test
     public void shouldOpenMoscowWeatherPage() {
 
-        System.out.println("[INFO] Starting test: OpenCityWeatherPageTest");
+        TestLog.info("Starting test: OpenCityWeatherPageTest");
 
-        WeatherMainPage weatherMainPage = new WeatherMainPage(driver);
+        WeatherMainPage weatherMainPage = new WeatherMainPage();
 
         // 1. Переход напрямую по URL страницы погоды Москвы
-        System.out.println("[STEP] Open Moscow weather page via direct URL");
+        TestLog.step("Open Moscow weather page via direct URL");
         weatherMainPage.openPage(baseUrl + "/ru/moscow");
 
         // 2. Проверка URL
-        System.out.println("[CHECK] Verify current URL");
+        TestLog.check("Verify current URL");
         Assert.assertTrue(
                 weatherMainPage.getCurrentUrl().contains("/pogoda/ru/moscow"),
                 "URL не соответствует странице Москвы"
         );
 
         // 3. Проверка отображаемого города
-        System.out.println("[CHECK] Verify displayed city name");
+        TestLog.check("Verify displayed city name");
         Assert.assertEquals(
                 weatherMainPage.getCurrentCity(),
                 "Москва",
                 "Текущий город отображается некорректно"
         );
 
-        System.out.println("[INFO] OpenCityWeatherPageTest finished successfully");
+        TestLog.info("OpenCityWeatherPageTest finished successfully");
     }
 }
@@ -2,6 +2,7 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
 import ru.mifi.testing.web.pages.WeatherMainPage;
 
@@ -25,24 +26,24 @@ public class OpenWeatherPageTest extends BaseWebTest {
     @Test
     public void shouldOpenYandexWeatherMainPage() {
 
-        System.out.println("[INFO] Starting test: OpenWeatherPageTest");
+        TestLog.info("Starting test: OpenWeatherPageTest");
 
-        WeatherMainPage weatherMainPage = new WeatherMainPage(driver);
+        WeatherMainPage weatherMainPage = new WeatherMainPage();
 
         // 1. Открываем главную страницу Яндекс.Погоды
-        System.out.println("[STEP] Open Yandex Weather main page");
+        TestLog.step("Open Yandex Weather main page");
         weatherMainPage.openPage(baseUrl);
 
         // 2. Проверяем заголовок страницы
-        System.out.println("[CHECK] Verify page title contains 'Погода'");
+        TestLog.check("Verify page title contains 'Погода'");
         String pageTitle = weatherMainPage.getPageTitle();
-        System.out.println("[INFO] Page title: " + pageTitle);
+        TestLog.info("Page title: " + pageTitle);
 
         Assert.assertTrue(
                 pageTitle.contains("Погода"),
                 "Заголовок страницы не содержит слово 'Погода'"
         );
 
-        System.out.println("[INFO] OpenWeatherPageTest finished successfully");
+        TestLog.info("OpenWeatherPageTest finished successfully");
     }
 }
@@ -2,8 +2,13 @@ package ru.mifi.testing.web.tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
 import ru.mifi.testing.web.base.BaseWebTest;
+import ru.mifi.testing.web.config.WebTestConfig;
 import ru.mifi.testing.web.pages.WeatherMainPage;
+import ru.mifi.testing.web.pages.WeatherMainPage.UiElement;
+
+import java.util.Map;
 
 /**
  * Сценарий 5 — UI-тест главной страницы Яндекс.Погоды.
@@ -19,6 +24,10 @@ import ru.mifi.testing.web.pages.WeatherMainPage;
  *  - основной блок погоды
  *  - футтер и SEO-блок
  *
+ * Видимость элементов проверяется одним пакетным запросом
+ * (см. {@link WeatherMainPage#getVisibility}), а не отдельным
+ * обращением к драйверу на каждый элемент.
+ *
  * Тип сценария:
  *  - UI smoke / regression
  *  - визуальная целостность страницы
@@ -28,73 +37,80 @@ public class WeatherPageUiElementsTest extends BaseWebTest {
     @Test
     public void shouldDisplayMainUiElementsOnWeatherPage() {
 
-        System.out.println("[INFO] Starting test: WeatherPageUiElementsTest");
+        TestLog.info("Starting test: WeatherPageUiElementsTest");
 
-        WeatherMainPage page = new WeatherMainPage(driver);
+        WeatherMainPage page = new WeatherMainPage();
 
         // 1. Открываем главную страницу
-        System.out.println("[STEP] Open Yandex Weather main page");
+        TestLog.step("Open Yandex Weather main page");
         page.openPage(baseUrl);
 
         // 2. Проверяем title
-        System.out.println("[CHECK] Verify page title contains 'Погода'");
+        TestLog.check("Verify page title contains 'Погода'");
         String title = page.getPageTitle();
-        System.out.println("[INFO] Page title: " + title);
+        TestLog.info("Page title: " + title);
 
         Assert.assertTrue(
                 title.contains("Погода"),
                 "Заголовок страницы не содержит слово 'Погода'"
         );
 
-        // 3. Проверяем строку поиска
-        System.out.println("[CHECK] Verify search input is displayed");
+        // 3. Проверяем основные элементы одним пакетным запросом
+        TestLog.step("Check main UI elements visibility in one batch");
+        Map<UiElement, Boolean> visibility = page.waitForVisibility(
+                WebTestConfig.getShortTimeout(),
+                UiElement.SEARCH_INPUT,
+                UiElement.CURRENT_CITY,
+                UiElement.HEADER_NAVIGATION_MENU,
+                UiElement.CURRENT_WEATHER_BLOCK,
+                UiElement.FOOTER,
+                UiElement.FOOTER_SEO_TEXT,
+                UiElement.FOOTER_COPYRIGHT
+        );
+        TestLog.info("UI elements visibility: " + visibility);
+
+        TestLog.check("Verify search input is displayed");
         Assert.assertTrue(
-                page.isSearchInputDisplayed(),
+                visibility.get(UiElement.SEARCH_INPUT),
                 "Строка поиска не отображается"
         );
 
-        // 4. Проверяем текущий город
-        System.out.println("[CHECK] Verify current city is displayed");
+        TestLog.check("Verify current city is displayed");
         Assert.assertTrue(
-                page.isCurrentCityDisplayed(),
+                visibility.get(UiElement.CURRENT_CITY),
                 "Текущий город не отображается"
         );
 
-        // 5. Проверяем навигационное меню
-        System.out.println("[CHECK] Verify header navigation menu is displayed");
+        TestLog.check("Verify header navigation menu is displayed");
         Assert.assertTrue(
-                page.isHeaderNavigationMenuDisplayed(),
+                visibility.get(UiElement.HEADER_NAVIGATION_MENU),
                 "Верхнее навигационное меню не отображается"
         );
 
-        // 6. Проверяем основной блок погоды
-        System.out.println("[CHECK] Verify current weather block is displayed");
+        TestLog.check("Verify current weather block is displayed");
         Assert.assertTrue(
-                page.isCurrentWeatherBlockDisplayed(),
+                visibility.get(UiElement.CURRENT_WEATHER_BLOCK),
                 "Блок текущей погоды не отображается"
         );
 
-        // 7. Проверяем футтер
-        System.out.println("[CHECK] Verify footer is displayed");
+        TestLog.check("Verify footer is displayed");
         Assert.assertTrue(
-                page.isFooterDisplayed(),
+                visibility.get(UiElement.FOOTER),
                 "Футтер страницы не отображается"
         );
 
-        // 8. Проверяем SEO-блок в футтере
-        System.out.println("[CHECK] Verify footer SEO block is displayed");
+        TestLog.check("Verify footer SEO block is displayed");
         Assert.assertTrue(
-                page.isFooterSeoTextDisplayed(),
+                visibility.get(UiElement.FOOTER_SEO_TEXT),
                 "SEO-блок страницы не отображается"
         );
 
-        // 9. Проверяем копирайт
-        System.out.println("[CHECK] Verify footer copyright is displayed");
+        TestLog.check("Verify footer copyright is displayed");
         Assert.assertTrue(
-                page.isFooterCopyrightDisplayed(),
+                visibility.get(UiElement.FOOTER_COPYRIGHT),
                 "Копирайт страницы не отображается"
         );
 
-        System.out.println("[INFO] WeatherPageUiElementsTest finished successfully");
+        TestLog.info("WeatherPageUiElementsTest finished successfully");
     }
 }
@@ -0,0 +1,148 @@
+package ru.mifi.testing.web.tests;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import ru.mifi.testing.common.log.TestLog;
+import ru.mifi.testing.web.base.BaseWebTest;
+import ru.mifi.testing.web.config.WebTestConfig;
+import ru.mifi.testing.web.pages.WeatherMainPage;
+import ru.mifi.testing.web.pages.WeatherMainPage.UiElement;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Бенчмарк пакетной проверки видимости UI-элементов.
+ *
+ * Сравниваются два способа проверить основные элементы главной страницы:
+ *  - по одному: {@code driver.findElement(locator).isDisplayed()} на каждый элемент
+ *    (без {@code SessionCache}, через который работают isXxxDisplayed() страницы,
+ *    чтобы база сравнения не зависела от кэша элементов)
+ *  - пакетно: один вызов {@link WeatherMainPage#getVisibility}
+ *
+ * Для каждого способа считается число обращений к драйверу
+ * (через {@link EventFiringDecorator}) и среднее время одной проверки.
+ *
+ * Тест не входит в testng-web.xml и без {@code -Dbenchmark=true} пропускается
+ * (до открытия браузера), поэтому обычный {@code mvn test} его не выполняет:
+ *  mvn test -Dtest=WeatherPageVisibilityBenchmarkTest -Dbenchmark=true -Dbenchmark.iterations=20
+ */
+public class WeatherPageVisibilityBenchmarkTest extends BaseWebTest {
+
+    private static final UiElement[] ELEMENTS = {
+            UiElement.SEARCH_INPUT,
+            UiElement.CURRENT_CITY,
+            UiElement.CURRENT_WEATHER_BLOCK,
+            UiElement.FOOTER,
+            UiElement.FOOTER_SEO_TEXT,
+            UiElement.FOOTER_COPYRIGHT
+    };
+
+    @BeforeClass(alwaysRun = true)
+    public void skipUnlessEnabled() {
+        if (!Boolean.getBoolean("benchmark")) {
+            throw new SkipException("Visibility benchmark is disabled, run with -Dbenchmark=true");
+        }
+    }
+
+    @Test(groups = "benchmark")
+    public void batchVisibilityShouldNeedFewerRoundTrips() {
+
+        TestLog.info("Starting test: WeatherPageVisibilityBenchmarkTest");
+
+        int iterations = Integer.getInteger("benchmark.iterations", 20);
+
+        AtomicInteger roundTrips = new AtomicInteger();
+        WebDriver countingDriver = new EventFiringDecorator<>(new WebDriverListener() {
+            @Override
+            public void beforeAnyWebDriverCall(WebDriver driver, Method method, Object[] args) {
+                roundTrips.incrementAndGet();
+            }
+
+            @Override
+            public void beforeAnyWebElementCall(
+                    WebElement element, Method method, Object[] args) {
+                roundTrips.incrementAndGet();
+            }
+        }).decorate(getDriver());
+
+        WeatherMainPage page = new WeatherMainPage(countingDriver);
+
+        TestLog.step("Open Yandex Weather main page");
+        page.openPage(baseUrl);
+        page.waitForVisibility(WebTestConfig.getTimeout(), ELEMENTS);
+
+        // Прогрев: первые вызовы включают JIT и кеши браузера
+        perElement(countingDriver, page);
+        page.getVisibility(ELEMENTS);
+
+        TestLog.step("Measure per-element checks, iterations=" + iterations);
+        roundTrips.set(0);
+        Map<UiElement, Boolean> perElementResult = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            perElementResult = perElement(countingDriver, page);
+        }
+        long perElementNanos = System.nanoTime() - start;
+        int perElementTrips = roundTrips.get() / iterations;
+
+        TestLog.step("Measure batch check, iterations=" + iterations);
+        roundTrips.set(0);
+        Map<UiElement, Boolean> batchResult = null;
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            batchResult = page.getVisibility(ELEMENTS);
+        }
+        long batchNanos = System.nanoTime() - start;
+        int batchTrips = roundTrips.get() / iterations;
+
+        double perElementMs = perElementNanos / 1e6 / iterations;
+        double batchMs = batchNanos / 1e6 / iterations;
+
+        TestLog.info("findElement + isDisplayed: %d round trips, %.1f ms per check",
+                perElementTrips, perElementMs);
+        TestLog.info("Batch script:              %d round trips, %.1f ms per check",
+                batchTrips, batchMs);
+        TestLog.info("Speedup: x%.1f", perElementMs / batchMs);
+
+        TestLog.check("Verify batch result matches per-element result");
+        Assert.assertEquals(batchResult, perElementResult,
+                "Пакетная проверка вернула другой результат");
+
+        TestLog.check("Verify batch check takes a single round trip");
+        Assert.assertEquals(batchTrips, 1,
+                "Пакетная проверка должна выполняться за одно обращение к драйверу");
+        Assert.assertTrue(perElementTrips > batchTrips,
+                "Поэлементная проверка должна требовать больше обращений к драйверу");
+
+        TestLog.info("WeatherPageVisibilityBenchmarkTest finished successfully");
+    }
+
+    /**
+     * Проверка тех же элементов по одному: findElement + isDisplayed на каждый.
+     * Отсутствующий элемент считается невидимым, как и в пакетной проверке.
+     */
+    private static Map<UiElement, Boolean> perElement(WebDriver driver, WeatherMainPage page) {
+
+        Map<UiElement, Boolean> result = new EnumMap<>(UiElement.class);
+        for (UiElement element : ELEMENTS) {
+            boolean displayed;
+            try {
+                displayed = driver.findElement(page.locatorOf(element)).isDisplayed();
+            } catch (NoSuchElementException e) {
+                displayed = false;
+            }
+            result.put(element, displayed);
+        }
+        return result;
+    }
+}